@@ -0,0 +1,90 @@
+package com.framework.benchmarks;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.core.FrontServlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Contrôleurs bloquants (appel JDBC / HTTP simulé par un sleep) servis par FrontServlet.service,
+ * depuis un pool de la taille du pool Tomcat par défaut : route ordinaire, exécutée sur le thread
+ * du conteneur, contre route @VirtualThread (startAsync, thread virtuel, AsyncContext.complete).
+ * Une opération = un lot de requêtes concurrentes, terminées jusqu'à la dernière.
+ *
+ * Le mode "virtual" nécessite un JDK 21+ à l'exécution.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DispatchBenchmark {
+
+    // maxThreads par défaut du connecteur Tomcat
+    private static final int CONTAINER_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1000", "10000"})
+    public int concurrentRequests;
+
+    @Param({"10"})
+    public int blockingMillis;
+
+    private FrontServlet servlet;
+    private ExecutorService containerThreads;
+    private String uri;
+    private Map<String, String[]> params;
+
+    @Setup
+    public void setup() throws Exception {
+        if ("virtual".equals(mode)) {
+            try {
+                Thread.class.getMethod("ofVirtual");
+            } catch (NoSuchMethodException e) {
+                throw new IllegalStateException("Threads virtuels indisponibles : JDK 21+ requis pour mode=virtual");
+            }
+        }
+        servlet = new FrontServlet();
+        servlet.init(MockServlet.config(Map.of(
+                "controllers.packages", "com.framework.benchmarks.fixtures",
+                "async.timeout", "60000")));
+
+        containerThreads = Executors.newFixedThreadPool(CONTAINER_THREADS);
+        uri = "virtual".equals(mode) ? "/blocking/virtual" : "/blocking";
+        params = Map.of("ms", new String[] {String.valueOf(blockingMillis)});
+    }
+
+    @TearDown
+    public void tearDown() {
+        containerThreads.shutdownNow();
+        servlet.destroy();
+    }
+
+    @Benchmark
+    public void blockingControllers() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(concurrentRequests);
+        for (int i = 0; i < concurrentRequests; i++) {
+            containerThreads.execute(() -> {
+                HttpServletRequest request = MockServlet.asyncRequest(uri, params, latch::countDown);
+                try {
+                    servlet.service(request, MockServlet.response());
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                // Route ordinaire : terminée au retour de service ; @VirtualThread : à complete()
+                if (!request.isAsyncStarted()) latch.countDown();
+            });
+        }
+        latch.await();
+    }
+}
@@ -0,0 +1,71 @@
+package com.framework.benchmarks;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.core.FrontServlet;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Chaîne complète FrontServlet.service (ressources statiques, résolution, auth, binding,
+ * appel, rendu) sur des requêtes en mémoire, pour chaque type de route.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FrontServletBenchmark {
+
+    @Param({"string", "json", "jsonList", "pathVariables", "form", "auth", "view", "notFound"})
+    public String scenario;
+
+    private FrontServlet servlet;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        servlet = new FrontServlet();
+        servlet.init(MockServlet.config(Map.of(
+                "controllers.packages", "com.framework.benchmarks.fixtures",
+                "auth.session.key", "authenticated",
+                "role.session.key", "role")));
+
+        request = switch (scenario) {
+            case "string" -> MockServlet.request("GET", "/hello", Map.of(), null);
+            case "json" -> MockServlet.request("GET", "/users/42", Map.of(), null);
+            case "jsonList" -> MockServlet.request("GET", "/users", Map.of("limit", new String[] {"20"}), null);
+            case "pathVariables" -> MockServlet.request("GET", "/orders/12/items/3", Map.of(), null);
+            case "form" -> MockServlet.request("POST", "/users", form(), null);
+            case "auth" -> MockServlet.request("GET", "/admin", Map.of(),
+                    MockServlet.session(new HashMap<>(Map.of("authenticated", true, "role", "admin"))));
+            case "view" -> MockServlet.request("GET", "/page", Map.of(), null);
+            case "notFound" -> MockServlet.request("GET", "/nowhere/at/all", Map.of(), null);
+            default -> throw new IllegalArgumentException(scenario);
+        };
+        response = MockServlet.response();
+    }
+
+    private static Map<String, String[]> form() {
+        Map<String, String[]> form = new HashMap<>();
+        form.put("user.name", new String[] {"Rakoto"});
+        form.put("user.age", new String[] {"31"});
+        form.put("user.address.city", new String[] {"Antananarivo"});
+        form.put("user.phones[0].number", new String[] {"0340000000"});
+        form.put("user.phones[1].number", new String[] {"0340000001"});
+        form.put("user.tags[0]", new String[] {"a"});
+        return form;
+    }
+
+    @Benchmark
+    public void service() throws Exception {
+        servlet.service(request, response);
+    }
+}
@@ -0,0 +1,208 @@
+package com.framework.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletConfig;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Requêtes / réponses en mémoire pour les benchmarks, sans conteneur.
+ *
+ * Proxies dynamiques : seules les méthodes utilisées par le framework ont un comportement,
+ * les autres renvoient null / false / 0. Le corps des réponses est jeté.
+ */
+public final class MockServlet {
+
+    private MockServlet() {}
+
+    public static ServletConfig config(Map<String, String> initParams) {
+        RequestDispatcher noop = proxy(RequestDispatcher.class, Map.of());
+        ServletContext context = proxy(ServletContext.class, Map.of(
+                "getInitParameter", a -> initParams.get((String) a[0]),
+                "getInitParameterNames", a -> Collections.enumeration(initParams.keySet()),
+                "getRequestDispatcher", a -> noop,
+                "getContextPath", a -> ""));
+
+        return proxy(ServletConfig.class, Map.of(
+                "getServletContext", a -> context,
+                "getServletName", a -> "front",
+                "getInitParameterNames", a -> Collections.emptyEnumeration()));
+    }
+
+    public static HttpSession session(Map<String, Object> attributes) {
+        return proxy(HttpSession.class, Map.of(
+                "getAttribute", a -> attributes.get((String) a[0]),
+                "setAttribute", a -> attributes.put((String) a[0], a[1]),
+                "removeAttribute", a -> attributes.remove((String) a[0])));
+    }
+
+    /** Requête sur uri ; session null = pas de session */
+    public static HttpServletRequest request(String method, String uri,
+                                             Map<String, String[]> params, HttpSession session) {
+        return request(method, uri, params, session, Map.of());
+    }
+
+    public static HttpServletRequest request(String method, String uri, Map<String, String[]> params,
+                                             HttpSession session, Map<String, String> headers) {
+        return proxy(HttpServletRequest.class, behaviour(method, uri, params, session, headers));
+    }
+
+    /** Requête GET qui accepte le mode asynchrone ; onComplete est appelé par AsyncContext.complete() */
+    public static HttpServletRequest asyncRequest(String uri, Map<String, String[]> params, Runnable onComplete) {
+        AtomicBoolean started = new AtomicBoolean();
+        AsyncContext async = proxy(AsyncContext.class, Map.of("complete", a -> {
+            onComplete.run();
+            return null;
+        }));
+
+        Map<String, Function<Object[], Object>> behaviour = behaviour("GET", uri, params, null, Map.of());
+        behaviour.put("isAsyncSupported", a -> true);
+        behaviour.put("isAsyncStarted", a -> started.get());
+        behaviour.put("startAsync", a -> {
+            started.set(true);
+            return async;
+        });
+        behaviour.put("getAsyncContext", a -> async);
+        return proxy(HttpServletRequest.class, behaviour);
+    }
+
+    private static Map<String, Function<Object[], Object>> behaviour(String method, String uri, Map<String, String[]> params,
+                                                                     HttpSession session, Map<String, String> headers) {
+        Map<String, Object> attributes = new HashMap<>();
+        RequestDispatcher noop = proxy(RequestDispatcher.class, Map.of());
+
+        Map<String, Function<Object[], Object>> behaviour = new HashMap<>();
+        behaviour.put("getMethod", a -> method);
+        behaviour.put("getRequestURI", a -> uri);
+        behaviour.put("getContextPath", a -> "");
+        behaviour.put("getServletPath", a -> "");
+        behaviour.put("getPathInfo", a -> uri);
+        behaviour.put("getParameterMap", a -> params);
+        behaviour.put("getParameter", a -> {
+            String[] values = params.get((String) a[0]);
+            return values != null && values.length > 0 ? values[0] : null;
+        });
+        behaviour.put("getParameterValues", a -> params.get((String) a[0]));
+        behaviour.put("getSession", a -> session);
+        behaviour.put("getAttribute", a -> attributes.get((String) a[0]));
+        behaviour.put("setAttribute", a -> attributes.put((String) a[0], a[1]));
+        behaviour.put("getRequestDispatcher", a -> noop);
+        behaviour.put("getHeader", a -> headers.get((String) a[0]));
+        return behaviour;
+    }
+
+    /** Requête POST à corps JSON ; chaque getInputStream relit le corps depuis le début */
+    public static HttpServletRequest jsonRequest(String uri, byte[] body) {
+        Map<String, Function<Object[], Object>> behaviour = new HashMap<>();
+        behaviour.put("getMethod", a -> "POST");
+        behaviour.put("getRequestURI", a -> uri);
+        behaviour.put("getContextPath", a -> "");
+        behaviour.put("getPathInfo", a -> uri);
+        behaviour.put("getParameterMap", a -> Map.of());
+        behaviour.put("getContentType", a -> "application/json");
+        behaviour.put("getCharacterEncoding", a -> "UTF-8");
+        behaviour.put("getContentLengthLong", a -> (long) body.length);
+        behaviour.put("getInputStream", a -> inputStream(body));
+        return proxy(HttpServletRequest.class, behaviour);
+    }
+
+    private static ServletInputStream inputStream(byte[] body) {
+        ByteArrayInputStream in = new ByteArrayInputStream(body);
+        return new ServletInputStream() {
+            @Override
+            public int read() {
+                return in.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return in.read(b, off, len);
+            }
+
+            @Override
+            public boolean isFinished() {
+                return in.available() == 0;
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+            }
+        };
+    }
+
+    /** Réponse dont le corps est jeté ; le statut et le type de contenu sont conservés */
+    public static HttpServletResponse response() {
+        PrintWriter writer = new PrintWriter(Writer.nullWriter());
+        ServletOutputStream out = new ServletOutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener listener) {
+            }
+        };
+        int[] status = {HttpServletResponse.SC_OK};
+        String[] contentType = {null};
+
+        return proxy(HttpServletResponse.class, Map.of(
+                "getWriter", a -> writer,
+                "getOutputStream", a -> out,
+                "setStatus", a -> status[0] = (Integer) a[0],
+                "getStatus", a -> status[0],
+                "setContentType", a -> contentType[0] = (String) a[0],
+                "getContentType", a -> contentType[0],
+                "getCharacterEncoding", a -> "UTF-8"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Map<String, Function<Object[], Object>> behaviour) {
+        return (T) Proxy.newProxyInstance(MockServlet.class.getClassLoader(), new Class<?>[] {type},
+                (p, method, args) -> {
+                    Function<Object[], Object> f = behaviour.get(method.getName());
+                    if (f != null) {
+                        Object result = f.apply(args);
+                        return method.getReturnType() == void.class ? null : result;
+                    }
+                    Class<?> r = method.getReturnType();
+                    if (r == boolean.class) return false;
+                    if (r == int.class) return 0;
+                    if (r == long.class) return 0L;
+                    if (method.getName().equals("toString")) return type.getSimpleName() + " (mock)";
+                    if (method.getName().equals("hashCode")) return System.identityHashCode(p);
+                    if (method.getName().equals("equals")) return p == args[0];
+                    return null;
+                });
+    }
+}
@@ -0,0 +1,57 @@
+package com.framework.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.annotation.AnnotationScanner;
+import com.framework.annotation.GetMapping;
+import com.framework.benchmarks.fixtures.BenchController;
+import com.framework.core.RouteMatch;
+import com.framework.core.RouteRegistry;
+
+/**
+ * Résolution d'une URL vers la méthode du contrôleur, avec extraction des variables de chemin :
+ * ancien parcours réflexif ({@link AnnotationScanner#findMethodByUrl}) contre {@link RouteRegistry}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResolutionBenchmark {
+
+    private RouteRegistry registry;
+
+    @Setup
+    public void setup() {
+        registry = RouteRegistry.build(List.of(BenchController.class));
+    }
+
+    @Benchmark
+    public Object findMethodByUrlStatic() {
+        return AnnotationScanner.findMethodByUrl(BenchController.class, GetMapping.class, "/hello");
+    }
+
+    @Benchmark
+    public Object findMethodByUrlPathVariables() {
+        return AnnotationScanner.findMethodByUrl(BenchController.class, GetMapping.class, "/orders/12/items/3");
+    }
+
+    @Benchmark
+    public RouteMatch registryStatic() {
+        return registry.resolve("GET", "/hello");
+    }
+
+    @Benchmark
+    public RouteMatch registryOneVariable() {
+        return registry.resolve("GET", "/users/42");
+    }
+
+    @Benchmark
+    public RouteMatch registryTwoVariables() {
+        return registry.resolve("GET", "/orders/12/items/3");
+    }
+}
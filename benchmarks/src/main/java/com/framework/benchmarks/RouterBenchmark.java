@@ -0,0 +1,78 @@
+package com.framework.benchmarks;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.framework.annotation.AnnotationScanner;
+import com.framework.core.Route;
+import com.framework.core.RouteMatch;
+import com.framework.core.RouteRegistry;
+
+/**
+ * Résolution d'URL : trie ({@link RouteRegistry}) contre l'ancien parcours linéaire avec
+ * {@link AnnotationScanner#matchUrl}. Le coût du trie doit rester plat quand le nombre de routes augmente.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouterBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    public int routeCount;
+
+    private RouteRegistry registry;
+    private List<Route> routes;
+    private String[] urls;
+
+    @Setup
+    public void setup() throws Exception {
+        Method handler = RouterBenchmark.class.getMethod("handler");
+
+        routes = new ArrayList<>();
+        for (int i = 0; i < routeCount / 2; i++) {
+            routes.add(new Route("GET", "/api/resource" + i + "/items", RouterBenchmark.class, handler));
+            routes.add(new Route("GET", "/api/resource" + i + "/items/{id}", RouterBenchmark.class, handler));
+        }
+        registry = RouteRegistry.of(routes);
+
+        int last = routeCount / 2 - 1;
+        urls = new String[] {
+                "/api/resource0/items",
+                "/api/resource" + last + "/items/42",
+                "/api/resource" + (last / 2) + "/items",
+                "/api/unknown/items"
+        };
+    }
+
+    public void handler() {}
+
+    @Benchmark
+    public void trie(Blackhole bh) {
+        for (String url : urls) {
+            RouteMatch m = registry.resolve("GET", url);
+            bh.consume(m);
+        }
+    }
+
+    @Benchmark
+    public void linearMatchUrl(Blackhole bh) {
+        for (String url : urls) {
+            Route found = null;
+            for (Route route : routes) {
+                if (AnnotationScanner.matchUrl(route.getPattern(), url)) {
+                    found = route;
+                    if (route.isDynamic()) break;
+                }
+            }
+            bh.consume(found);
+        }
+    }
+}
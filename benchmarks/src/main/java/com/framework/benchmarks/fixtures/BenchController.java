@@ -0,0 +1,96 @@
+package com.framework.benchmarks.fixtures;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+import com.framework.annotation.*;
+import com.framework.core.ModelView;
+
+/** Contrôleur représentatif des routes mesurées par les benchmarks */
+@Controller
+public class BenchController {
+
+    @GetMapping("/hello")
+    public String hello() {
+        return "hello";
+    }
+
+    @GetMapping("/users/{id}")
+    @Json
+    public User user(int id) {
+        User user = new User();
+        user.name = "user" + id;
+        user.age = 30;
+        user.address = new User.Address();
+        user.address.city = "Antananarivo";
+        user.address.zip = "101";
+        user.tags = new String[] {"a", "b"};
+        return user;
+    }
+
+    @GetMapping("/users")
+    @Json
+    public List<User> users(@RequestParam("limit") int limit) {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < limit; i++) users.add(user(i));
+        return users;
+    }
+
+    @GetMapping("/orders/{orderId}/items/{itemId}")
+    public String item(int orderId, int itemId) {
+        return "order " + orderId + " item " + itemId;
+    }
+
+    @PostMapping("/users")
+    public String save(User user) {
+        return user.name;
+    }
+
+    @PostMapping("/users.json")
+    public String saveJson(@Body User user) {
+        return user.name;
+    }
+
+    @PostMapping("/users/import")
+    public String importUsers(@Body Iterator<User> users) {
+        int count = 0;
+        while (users.hasNext()) {
+            users.next();
+            count++;
+        }
+        return "imported " + count;
+    }
+
+    @GetMapping("/admin")
+    @Auth(authenticated = true, role = "admin")
+    public String admin() {
+        return "admin";
+    }
+
+    @GetMapping("/page")
+    public ModelView page() {
+        ModelView mv = new ModelView("page.jsp");
+        mv.addItem("title", "page");
+        return mv;
+    }
+
+    // Appel bloquant simulé (JDBC / HTTP) : sur le thread du conteneur...
+    @GetMapping("/blocking")
+    public String blocking(@RequestParam("ms") int ms) throws InterruptedException {
+        Thread.sleep(ms);
+        return "done";
+    }
+
+    // ... ou sur un thread virtuel, le thread du conteneur étant rendu aussitôt
+    @GetMapping("/blocking/virtual")
+    @VirtualThread
+    public String blockingVirtual(@RequestParam("ms") int ms) throws InterruptedException {
+        return blocking(ms);
+    }
+
+    @URL(url = "/legacy")
+    public String legacy() {
+        return "legacy";
+    }
+}
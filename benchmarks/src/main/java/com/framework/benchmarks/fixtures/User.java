@@ -0,0 +1,23 @@
+package com.framework.benchmarks.fixtures;
+
+/** Objet de formulaire : champs simples, objet imbriqué et tableaux indexés */
+public class User {
+
+    public String name;
+    public int age;
+    public double salary;
+    public boolean active;
+    public Address address;
+    public Phone[] phones;
+    public String[] tags;
+
+    public static class Address {
+        public String city;
+        public String zip;
+    }
+
+    public static class Phone {
+        public String type;
+        public String number;
+    }
+}
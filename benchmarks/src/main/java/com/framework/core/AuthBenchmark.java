@@ -0,0 +1,80 @@
+package com.framework.core;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.benchmarks.MockServlet;
+import com.framework.benchmarks.fixtures.BenchController;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Contrôle d'accès @Auth d'une route ({@link Authorization}), backend session ou jeton signé :
+ * route publique, utilisateur autorisé, utilisateur sans le rôle.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret";
+
+    @Param({"session", "token"})
+    public String backend;
+
+    private Authorization authorization;
+
+    private Route publicRoute;
+    private Route adminRoute;
+    private HttpServletRequest adminRequest;
+    private HttpServletRequest userRequest;
+
+    @Setup
+    public void setup() throws Exception {
+        publicRoute = new Route("GET", "/hello", BenchController.class, BenchController.class.getMethod("hello"));
+        adminRoute = new Route("GET", "/admin", BenchController.class, BenchController.class.getMethod("admin"));
+
+        Map<String, String> config = Map.of(
+                "auth.backend", backend,
+                "auth.session.key", "authenticated",
+                "role.session.key", "role",
+                "auth.token.secret", SECRET);
+        authorization = new Authorization(List.of(publicRoute, adminRoute), Sessions.container(),
+                (name, def) -> config.getOrDefault(name, def));
+
+        if ("session".equals(backend)) {
+            adminRequest = MockServlet.request("GET", "/admin", Map.of(),
+                    MockServlet.session(new HashMap<>(Map.of("authenticated", true, "role", "admin"))));
+            userRequest = MockServlet.request("GET", "/admin", Map.of(),
+                    MockServlet.session(new HashMap<>(Map.of("authenticated", true, "role", "user"))));
+        } else {
+            adminRequest = MockServlet.request("GET", "/admin", Map.of(), null,
+                    Map.of("Authorization", "Bearer " + AuthTokens.issue(SECRET, "alice", List.of("admin"), Duration.ofHours(1))));
+            userRequest = MockServlet.request("GET", "/admin", Map.of(), null,
+                    Map.of("Authorization", "Bearer " + AuthTokens.issue(SECRET, "bob", List.of("user"), Duration.ofHours(1))));
+        }
+    }
+
+    @Benchmark
+    public boolean publicRoute() {
+        return authorization.check(publicRoute, adminRequest);
+    }
+
+    @Benchmark
+    public boolean granted() {
+        return authorization.check(adminRoute, adminRequest);
+    }
+
+    @Benchmark
+    public boolean denied() {
+        return authorization.check(adminRoute, userRequest);
+    }
+}
@@ -0,0 +1,131 @@
+package com.framework.core;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.benchmarks.MockServlet;
+import com.framework.benchmarks.fixtures.BenchController;
+import com.framework.benchmarks.fixtures.User;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Binding des arguments : {@link DataBinder} sur un formulaire imbriqué / indexé,
+ * plans de binding complets (remplaçants de resolveMethodArguments), et paramètre invalide
+ * (erreur de conversion enregistrée, sans exception). Corps @Body : le même utilisateur en JSON,
+ * et un tableau de 100 utilisateurs consommé par Iterator.
+ *
+ * Dans le package com.framework.core pour accéder aux classes internes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BindingBenchmark {
+
+    private Map<String, String[]> form;
+    private HttpServletRequest formRequest;
+    private HttpServletRequest limitRequest;
+    private HttpServletRequest emptyRequest;
+    private HttpServletRequest invalidLimitRequest;
+    private HttpServletRequest jsonRequest;
+    private HttpServletRequest jsonArrayRequest;
+
+    private BindingPlan formPlan;
+    private BindingPlan pathVariablesPlan;
+    private BindingPlan requestParamPlan;
+    private BindingPlan jsonBodyPlan;
+    private BindingPlan jsonStreamPlan;
+    private Map<String, String> pathVariables;
+
+    @Setup
+    public void setup() throws Exception {
+        form = new HashMap<>();
+        form.put("user.name", new String[] {"Rakoto"});
+        form.put("user.age", new String[] {"31"});
+        form.put("user.salary", new String[] {"2500.5"});
+        form.put("user.active", new String[] {"true"});
+        form.put("user.address.city", new String[] {"Antananarivo"});
+        form.put("user.address.zip", new String[] {"101"});
+        for (int i = 0; i < 4; i++) {
+            form.put("user.phones[" + i + "].type", new String[] {"mobile"});
+            form.put("user.phones[" + i + "].number", new String[] {"034000000" + i});
+        }
+        form.put("user.tags[0]", new String[] {"a"});
+        form.put("user.tags[1]", new String[] {"b"});
+
+        formRequest = MockServlet.request("POST", "/users", form, null);
+        limitRequest = MockServlet.request("GET", "/users", Map.of("limit", new String[] {"10"}), null);
+        emptyRequest = MockServlet.request("GET", "/orders/12/items/3", Map.of(), null);
+        invalidLimitRequest = MockServlet.request("GET", "/users", Map.of("limit", new String[] {"10x"}), null);
+
+        String user = "{\"name\":\"Rakoto\",\"age\":31,\"salary\":2500.5,\"active\":true,"
+                + "\"address\":{\"city\":\"Antananarivo\",\"zip\":\"101\"},\"phones\":["
+                + "{\"type\":\"mobile\",\"number\":\"0340000000\"},{\"type\":\"mobile\",\"number\":\"0340000001\"},"
+                + "{\"type\":\"mobile\",\"number\":\"0340000002\"},{\"type\":\"mobile\",\"number\":\"0340000003\"}],"
+                + "\"tags\":[\"a\",\"b\"]}";
+        jsonRequest = MockServlet.jsonRequest("/users.json", user.getBytes(StandardCharsets.UTF_8));
+        jsonArrayRequest = MockServlet.jsonRequest("/users/import",
+                ("[" + String.join(",", Collections.nCopies(100, user)) + "]").getBytes(StandardCharsets.UTF_8));
+
+        formPlan = route("POST", "/users", "save", User.class).getBindingPlan();
+        pathVariablesPlan = route("GET", "/orders/{orderId}/items/{itemId}", "item", int.class, int.class).getBindingPlan();
+        requestParamPlan = route("GET", "/users", "users", int.class).getBindingPlan();
+        jsonBodyPlan = route("POST", "/users.json", "saveJson", User.class).getBindingPlan();
+        jsonStreamPlan = route("POST", "/users/import", "importUsers", Iterator.class).getBindingPlan();
+        pathVariables = Map.of("orderId", "12", "itemId", "3");
+    }
+
+    private static Route route(String verb, String pattern, String method, Class<?>... types) throws Exception {
+        return new Route(verb, pattern, BenchController.class, BenchController.class.getMethod(method, types));
+    }
+
+    @Benchmark
+    public Object dataBinderNestedIndexed() throws Exception {
+        return DataBinder.bindComplexObject(User.class, "user", form);
+    }
+
+    @Benchmark
+    public Object[] bindingPlanForm() throws Exception {
+        return formPlan.bind(new RequestContext(formRequest, Map.of()));
+    }
+
+    @Benchmark
+    public Object[] bindingPlanPathVariables() throws Exception {
+        return pathVariablesPlan.bind(new RequestContext(emptyRequest, pathVariables));
+    }
+
+    @Benchmark
+    public Object[] bindingPlanRequestParam() throws Exception {
+        return requestParamPlan.bind(new RequestContext(limitRequest, Map.of()));
+    }
+
+    @Benchmark
+    public Object[] bindingPlanInvalidRequestParam() throws Exception {
+        return requestParamPlan.bind(new RequestContext(invalidLimitRequest, Map.of()));
+    }
+
+    @Benchmark
+    public Object[] bindingPlanJsonBody() throws Exception {
+        return jsonBodyPlan.bind(new RequestContext(jsonRequest, Map.of()));
+    }
+
+    @Benchmark
+    public int bindingPlanJsonStream100() throws Exception {
+        Iterator<?> users = (Iterator<?>) jsonStreamPlan.bind(new RequestContext(jsonArrayRequest, Map.of()))[0];
+        int count = 0;
+        while (users.hasNext()) {
+            users.next();
+            count++;
+        }
+        return count;
+    }
+}
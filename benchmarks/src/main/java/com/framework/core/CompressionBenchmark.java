@@ -0,0 +1,55 @@
+package com.framework.core;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.benchmarks.MockServlet;
+import com.framework.benchmarks.fixtures.BenchController;
+import com.framework.benchmarks.fixtures.User;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Réponse @Json d'une liste de 100 utilisateurs écrite à travers la compression,
+ * selon l'encodage négocié (identity = réponse non enveloppée).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CompressionBenchmark {
+
+    @Param({"identity", "gzip", "deflate"})
+    public String encoding;
+
+    private Compression compression;
+    private JsonCodec codec;
+    private HttpServletRequest req;
+    private List<User> users;
+    private final String[] names = {"limit"};
+    private final Object[] args = {100};
+
+    @Setup
+    public void setup() {
+        compression = new Compression((name, defaultValue) -> defaultValue);
+        codec = new JsonCodec(true);
+        req = MockServlet.request("GET", "/users", Map.of(), null, Map.of("Accept-Encoding", encoding));
+        users = new BenchController().users(100);
+        JsonCodec.warm(User.class);
+    }
+
+    @Benchmark
+    public HttpServletResponse jsonList() throws Exception {
+        HttpServletResponse res = compression.wrap(req, MockServlet.response());
+        res.setContentType("application/json;charset=UTF-8");
+        codec.writeEnvelope(res.getWriter(), names, args, users);
+        Compression.finish(res);
+        return res;
+    }
+}
@@ -0,0 +1,79 @@
+package com.framework.core;
+
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.benchmarks.MockServlet;
+import com.framework.benchmarks.fixtures.BenchController;
+import com.framework.benchmarks.fixtures.User;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sortie JSON de handleReturn pour une route @Json : enveloppe { status, code, args, data }
+ * pour un objet et pour une liste, écrite dans un flux qui jette les caractères ;
+ * la même liste rendue en flux par {@link ResultStream} (Stream, envoi tous les 100 éléments),
+ * à comparer à listResponse : même PrintWriter de réponse, dont le coût domine ici.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private final Writer out = Writer.nullWriter();
+    private JsonCodec codec;
+
+    private User user;
+    private List<User> users;
+    private final String[] userNames = {"id"};
+    private final Object[] userArgs = {42};
+    private final String[] usersNames = {"limit"};
+    private final Object[] usersArgs = {100};
+
+    private ResultStream resultStream;
+    private Route usersRoute;
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+
+    @Setup
+    public void setup() throws Exception {
+        codec = new JsonCodec(true);
+        BenchController controller = new BenchController();
+        user = controller.user(42);
+        users = controller.users(100);
+        JsonCodec.warm(User.class);
+
+        resultStream = new ResultStream(codec, 100);
+        usersRoute = new Route("GET", "/users", BenchController.class, BenchController.class.getMethod("users", int.class));
+        request = MockServlet.request("GET", "/users", Map.of(), null);
+        response = MockServlet.response();
+    }
+
+    @Benchmark
+    public void object() throws Exception {
+        codec.writeEnvelope(out, userNames, userArgs, user);
+    }
+
+    @Benchmark
+    public void list() throws Exception {
+        codec.writeEnvelope(out, usersNames, usersArgs, users);
+    }
+
+    @Benchmark
+    public void listResponse() throws Exception {
+        codec.writeEnvelope(response.getWriter(), usersNames, usersArgs, users);
+    }
+
+    @Benchmark
+    public void stream() throws Exception {
+        resultStream.write(users.stream(), request, response, usersRoute, usersArgs);
+    }
+}
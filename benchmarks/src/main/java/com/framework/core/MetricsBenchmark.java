@@ -0,0 +1,61 @@
+package com.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Coût de l'instrumentation par requête (recherche des métriques de la route, begin / end)
+ * comparé à la seule lecture de l'horloge. Objectif : moins d'une microseconde, y compris
+ * quand plusieurs threads servent la même route.
+ *
+ * Dans le package com.framework.core pour accéder aux classes internes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MetricsBenchmark {
+
+    private Metrics metrics;
+    private Route route;
+
+    @Setup
+    public void setup() throws Exception {
+        Method handler = MetricsBenchmark.class.getMethod("handler");
+        List<Route> routes = new ArrayList<>();
+        for (int i = 0; i < 100; i++)
+            routes.add(new Route("GET", "/api/resource" + i + "/{id}", MetricsBenchmark.class, handler));
+
+        metrics = new Metrics(routes, new ResponseCache(1 << 20), new Admission(routes, (name, defaultValue) -> defaultValue));
+        route = routes.get(42);
+    }
+
+    public void handler() {}
+
+    @Benchmark
+    public long baselineClock() {
+        long start = System.nanoTime();
+        return System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public void instrumented() {
+        RouteMetrics m = metrics.of(route);
+        long start = m.begin();
+        m.end(start, false);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void instrumentedContended() {
+        RouteMetrics m = metrics.of(route);
+        long start = m.begin();
+        m.end(start, false);
+    }
+}
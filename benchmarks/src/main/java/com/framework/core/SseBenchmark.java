@@ -0,0 +1,51 @@
+package com.framework.core;
+
+import java.util.Map;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Diffusion d'un événement par {@link SseBroadcaster} à 1000 abonnés qui consomment sans
+ * limite (octets encodés passés au Blackhole) : coût de send, encodage JSON compris,
+ * et coût par abonné.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SseBenchmark {
+
+    @Param({"1000"})
+    public int subscribers;
+
+    private SseBroadcaster broadcaster;
+    private int sequence;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        broadcaster = new SseBroadcaster();
+        for (int i = 0; i < subscribers; i++) {
+            broadcaster.subscribe(new Flow.Subscriber<>() {
+                @Override public void onSubscribe(Flow.Subscription s) { s.request(Long.MAX_VALUE); }
+                @Override public void onNext(ServerSentEvent event) { blackhole.consume(event.bytes()); }
+                @Override public void onError(Throwable error) {}
+                @Override public void onComplete() {}
+            });
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        broadcaster.close();
+    }
+
+    @Benchmark
+    public int broadcast() {
+        return broadcaster.send("tick", Map.of("sequence", sequence++, "status", "ok"));
+    }
+}
@@ -0,0 +1,58 @@
+package com.framework.core;
+
+import java.io.OutputStream;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.framework.benchmarks.fixtures.BenchController;
+
+/**
+ * Rendu d'un {@link Template} compilé : page de 100 utilisateurs (section répétée, valeurs
+ * échappées, objet imbriqué), écrite dans un flux qui jette les octets. La compilation,
+ * faite une fois par gabarit, est mesurée à part.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateBenchmark {
+
+    private static final String SOURCE = """
+            <html><head><title>{{title}}</title></head>
+            <body>
+            <table>
+              {{#users}}
+              <tr><td>{{name}}</td><td>{{age}}</td><td>{{address.city}} {{address.zip}}</td>
+                <td>{{#tags}}<span>{{.}}</span>{{/tags}}</td></tr>
+              {{/users}}
+              {{^users}}
+              <tr><td>Aucun utilisateur</td></tr>
+              {{/users}}
+            </table>
+            </body></html>
+            """;
+
+    private final OutputStream out = OutputStream.nullOutputStream();
+    private Template template;
+    private Map<String, Object> data;
+
+    @Setup
+    public void setup() {
+        template = Template.compile("users.tpl", SOURCE, view -> null);
+        data = Map.of("title", "Utilisateurs <100>", "users", new BenchController().users(100));
+    }
+
+    @Benchmark
+    public void render() throws Exception {
+        template.render(data, out);
+    }
+
+    @Benchmark
+    public Template compile() {
+        return Template.compile("users.tpl", SOURCE, view -> null);
+    }
+}
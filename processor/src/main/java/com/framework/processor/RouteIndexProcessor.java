@@ -0,0 +1,364 @@
+package com.framework.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+import com.framework.annotation.Auth;
+import com.framework.annotation.Controller;
+import com.framework.annotation.GetMapping;
+import com.framework.annotation.Json;
+import com.framework.annotation.PostMapping;
+import com.framework.annotation.Body;
+import com.framework.annotation.RequestParam;
+import com.framework.annotation.URL;
+
+/**
+ * Génère l'index des routes (implémentation de com.framework.core.RouteIndex) à la compilation.
+ *
+ * Les mappings en conflit et les paramètres que le binding ne sait pas remplir
+ * font échouer la compilation au lieu d'apparaître à l'exécution.
+ *
+ * Option : -Aframework.routeIndex=nom.complet.de.la.Classe
+ * (défaut : com.framework.generated.GeneratedRouteIndex)
+ */
+@SupportedOptions({RouteIndexProcessor.OPTION_INDEX_CLASS, RouteIndexProcessor.OPTION_CONVERTER_TYPES})
+public class RouteIndexProcessor extends AbstractProcessor {
+
+    static final String OPTION_INDEX_CLASS = "framework.routeIndex";
+    static final String DEFAULT_INDEX_CLASS = "com.framework.generated.GeneratedRouteIndex";
+
+    // Types convertis par un ConverterProvider de l'application (noms qualifiés, séparés par des virgules)
+    static final String OPTION_CONVERTER_TYPES = "framework.converterTypes";
+
+    private static final String ROUTE_INDEX = "com.framework.core.RouteIndex";
+    private static final String ANY = "*";
+
+    // Types que le binding convertit depuis une chaîne (convertisseurs intégrés de ConverterRegistry)
+    private static final Set<String> SIMPLE_TYPES = Set.of(
+            "java.lang.String", "java.lang.Integer", "java.lang.Long", "java.lang.Short", "java.lang.Byte",
+            "java.lang.Double", "java.lang.Float", "java.lang.Boolean", "java.lang.Character",
+            "java.math.BigDecimal", "java.math.BigInteger", "java.util.UUID",
+            "java.time.LocalDate", "java.time.LocalTime", "java.time.LocalDateTime");
+    private static final Set<TypeKind> SIMPLE_PRIMITIVES = EnumSet.of(
+            TypeKind.INT, TypeKind.LONG, TypeKind.SHORT, TypeKind.BYTE,
+            TypeKind.DOUBLE, TypeKind.FLOAT, TypeKind.BOOLEAN, TypeKind.CHAR);
+
+    // Types injectés par le framework
+    private static final Set<String> FRAMEWORK_TYPES = Set.of(
+            "jakarta.servlet.http.Part", "java.nio.file.Path", "java.io.InputStream",
+            "com.framework.core.FrameworkSession", "com.framework.core.BindingResult");
+
+    private Types types;
+    private Elements elements;
+    private Messager messager;
+    private Set<String> converterTypes;
+
+    private final List<Mapping> mappings = new ArrayList<>();
+    private boolean generated;
+
+    private record Mapping(String verb, String pattern, TypeElement controller, ExecutableElement method) {
+
+        String normalizedPattern() {
+            String p = pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern;
+            return p.replaceAll("\\{[^/]*\\}", "{}");
+        }
+
+        @Override
+        public String toString() {
+            return verb + " " + pattern + " -> " + controller.getQualifiedName() + "." + method.getSimpleName();
+        }
+    }
+
+    @Override
+    public synchronized void init(ProcessingEnvironment env) {
+        super.init(env);
+        types = env.getTypeUtils();
+        elements = env.getElementUtils();
+        messager = env.getMessager();
+
+        converterTypes = new HashSet<>();
+        String option = env.getOptions().get(OPTION_CONVERTER_TYPES);
+        if (option != null)
+            for (String type : option.split(","))
+                if (!type.isBlank()) converterTypes.add(type.trim());
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return Set.of(Controller.class.getName(), URL.class.getName(), GetMapping.class.getName(),
+                PostMapping.class.getName(), Auth.class.getName(), Json.class.getName(),
+                RequestParam.class.getName(), Body.class.getName());
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment round) {
+        if (generated || round.processingOver()) return false;
+
+        for (TypeElement controller : ElementFilter.typesIn(round.getElementsAnnotatedWith(Controller.class)))
+            collect(controller);
+
+        warnOrphans(round);
+
+        if (mappings.isEmpty()) return false;
+
+        checkConflicts();
+        if (!round.errorRaised()) generate();
+        generated = true;
+        return false;
+    }
+
+    /* ---------------- COLLECTE ---------------- */
+
+    private void collect(TypeElement controller) {
+        boolean hasInstanceRoute = false;
+
+        for (ExecutableElement method : ElementFilter.methodsIn(controller.getEnclosedElements())) {
+            List<Mapping> found = new ArrayList<>();
+
+            URL url = method.getAnnotation(URL.class);
+            GetMapping get = method.getAnnotation(GetMapping.class);
+            PostMapping post = method.getAnnotation(PostMapping.class);
+
+            if (url != null) found.add(new Mapping(ANY, url.url(), controller, method));
+            if (get != null) found.add(new Mapping("GET", get.value(), controller, method));
+            if (post != null) found.add(new Mapping("POST", post.value(), controller, method));
+            if (found.isEmpty()) continue;
+
+            if (!method.getModifiers().contains(Modifier.STATIC)) hasInstanceRoute = true;
+
+            for (Mapping m : found) checkParameters(m);
+            mappings.addAll(found);
+        }
+
+        if (hasInstanceRoute && !hasNoArgConstructor(controller))
+            error(controller, "Le contrôleur doit avoir un constructeur sans argument");
+    }
+
+    /** @Auth / @Json / mappings posés hors d'un @Controller sont ignorés à l'exécution */
+    private void warnOrphans(RoundEnvironment round) {
+        Set<Element> annotated = new LinkedHashSet<>();
+        annotated.addAll(round.getElementsAnnotatedWith(URL.class));
+        annotated.addAll(round.getElementsAnnotatedWith(GetMapping.class));
+        annotated.addAll(round.getElementsAnnotatedWith(PostMapping.class));
+        annotated.addAll(round.getElementsAnnotatedWith(Auth.class));
+        annotated.addAll(round.getElementsAnnotatedWith(Json.class));
+
+        for (Element e : annotated) {
+            Element owner = e.getEnclosingElement();
+            if (owner.getAnnotation(Controller.class) == null) {
+                warn(e, "Annotation ignorée : la classe n'est pas annotée @Controller");
+            } else if (e.getAnnotation(URL.class) == null && e.getAnnotation(GetMapping.class) == null
+                    && e.getAnnotation(PostMapping.class) == null) {
+                warn(e, "@Auth/@Json sans @URL, @GetMapping ou @PostMapping : aucune route ne l'utilise");
+            }
+        }
+    }
+
+    /* ---------------- VÉRIFICATIONS ---------------- */
+
+    /** Même logique que RouteRegistry.of : même pattern + même verbe (ou @URL d'un côté) */
+    private void checkConflicts() {
+        Map<String, List<Mapping>> byPattern = new LinkedHashMap<>();
+
+        for (Mapping m : mappings) {
+            List<Mapping> samePattern = byPattern.computeIfAbsent(m.normalizedPattern(), p -> new ArrayList<>());
+            for (Mapping other : samePattern) {
+                boolean sameVerb = other.verb().equals(m.verb()) || other.verb().equals(ANY) || m.verb().equals(ANY);
+                if (sameVerb && !other.method().equals(m.method())) {
+                    error(m.method(), "Mapping en conflit : " + other + "  <->  " + m);
+                    break;
+                }
+            }
+            samePattern.add(m);
+        }
+    }
+
+    /** Même ordre de résolution que BindingPlan */
+    private void checkParameters(Mapping m) {
+        Set<String> pathVariables = new HashSet<>();
+        for (String segment : m.pattern().split("/"))
+            if (segment.startsWith("{") && segment.endsWith("}")) pathVariables.add(segment.substring(1, segment.length() - 1));
+
+        int bodies = 0;
+        for (VariableElement p : m.method().getParameters()) {
+            TypeMirror type = p.asType();
+            String name = p.getSimpleName().toString();
+
+            // Corps JSON : tout type lisible par Gson ; Iterator / Stream doivent nommer leurs éléments
+            if (p.getAnnotation(Body.class) != null) {
+                if (++bodies > 1) error(p, "Un seul paramètre @Body par méthode");
+                if (isElementStream(type) && !hasConcreteElement((DeclaredType) type))
+                    error(p, "@Body " + type + " : type des éléments à préciser (Iterator<T> / Stream<T>)");
+                continue;
+            }
+
+            if (isMap(type) || isFrameworkType(type) || isPartArray(type)) continue;
+
+            if (pathVariables.contains(name) || p.getAnnotation(RequestParam.class) != null) {
+                if (!isSimple(type))
+                    error(p, "Type " + type + " non convertible depuis une chaîne (variable de chemin / @RequestParam)");
+                continue;
+            }
+
+            if (type.getKind() == TypeKind.ARRAY) {
+                TypeMirror component = ((ArrayType) type).getComponentType();
+                if (!isSimple(component) && !isBindableObject(component))
+                    error(p, "Tableau de " + component + " non supporté : ni valeur convertible ni objet bindable");
+                continue;
+            }
+
+            if (isSimple(type)) continue;
+
+            if (type.getKind().isPrimitive() || !isBindableObject(type))
+                error(p, "Type de paramètre non supporté par le binding : " + type);
+        }
+    }
+
+    private boolean isSimple(TypeMirror type) {
+        if (type.getKind().isPrimitive()) return SIMPLE_PRIMITIVES.contains(type.getKind());
+        if (type.getKind() != TypeKind.DECLARED) return false;
+
+        String name = types.erasure(type).toString();
+        return SIMPLE_TYPES.contains(name)
+                || converterTypes.contains(name)
+                || types.asElement(type).getKind() == ElementKind.ENUM;
+    }
+
+    private boolean isElementStream(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) return false;
+        String name = types.erasure(type).toString();
+        return name.equals("java.util.Iterator") || name.equals("java.util.stream.Stream");
+    }
+
+    /** Iterator<User>, Stream<? extends User> ; ni type brut ni variable de type */
+    private boolean hasConcreteElement(DeclaredType type) {
+        if (type.getTypeArguments().isEmpty()) return false;
+        TypeMirror element = type.getTypeArguments().get(0);
+        if (element instanceof WildcardType wildcard)
+            return wildcard.getExtendsBound() == null || wildcard.getExtendsBound().getKind() != TypeKind.TYPEVAR;
+        return element.getKind() != TypeKind.TYPEVAR;
+    }
+
+    private boolean isMap(TypeMirror type) {
+        TypeElement map = elements.getTypeElement("java.util.Map");
+        return map != null && type.getKind() == TypeKind.DECLARED
+                && types.isAssignable(types.erasure(type), types.erasure(map.asType()));
+    }
+
+    private boolean isFrameworkType(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED && FRAMEWORK_TYPES.contains(types.erasure(type).toString());
+    }
+
+    private boolean isPartArray(TypeMirror type) {
+        return type.getKind() == TypeKind.ARRAY
+                && types.erasure(((ArrayType) type).getComponentType()).toString().equals("jakarta.servlet.http.Part");
+    }
+
+    /** Objet bindé champ par champ : classe concrète avec constructeur sans argument */
+    private boolean isBindableObject(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) return false;
+        TypeElement element = (TypeElement) types.asElement(type);
+        if (element.getKind() != ElementKind.CLASS || element.getModifiers().contains(Modifier.ABSTRACT)) return false;
+
+        // Number sans convertisseur (AtomicLong...) n'est ni converti ni bindé
+        TypeElement number = elements.getTypeElement("java.lang.Number");
+        if (number != null && types.isAssignable(type, number.asType())) return false;
+
+        return hasNoArgConstructor(element);
+    }
+
+    private boolean hasNoArgConstructor(TypeElement element) {
+        List<ExecutableElement> constructors = ElementFilter.constructorsIn(element.getEnclosedElements());
+        if (constructors.isEmpty()) return true; // constructeur par défaut
+        for (ExecutableElement c : constructors)
+            if (c.getParameters().isEmpty()) return true;
+        return false;
+    }
+
+    /* ---------------- GÉNÉRATION ---------------- */
+
+    private void generate() {
+        String indexClass = processingEnv.getOptions().getOrDefault(OPTION_INDEX_CLASS, DEFAULT_INDEX_CLASS);
+        int dot = indexClass.lastIndexOf('.');
+        String packageName = dot > 0 ? indexClass.substring(0, dot) : "";
+        String simpleName = indexClass.substring(dot + 1);
+
+        Element[] origins = mappings.stream().map(Mapping::controller).distinct().toArray(Element[]::new);
+
+        try {
+            JavaFileObject source = processingEnv.getFiler().createSourceFile(indexClass, origins);
+            try (Writer w = source.openWriter()) {
+                if (!packageName.isEmpty()) w.write("package " + packageName + ";\n\n");
+                w.write("import java.util.List;\n\n");
+                w.write("import " + ROUTE_INDEX + ";\n\n");
+                w.write("/** Genere par " + RouteIndexProcessor.class.getName() + " : ne pas modifier. */\n");
+                w.write("public final class " + simpleName + " implements RouteIndex {\n\n");
+                w.write("    @Override\n");
+                w.write("    public List<RouteIndex.Mapping> mappings() {\n");
+                w.write("        return List.of(\n");
+
+                for (int i = 0; i < mappings.size(); i++) {
+                    Mapping m = mappings.get(i);
+                    w.write("            new RouteIndex.Mapping(" + literal(m.verb()) + ", " + literal(m.pattern()) + ", "
+                            + m.controller().getQualifiedName() + ".class, "
+                            + literal(m.method().getSimpleName().toString()) + parameterTypes(m.method()) + ")");
+                    w.write(i < mappings.size() - 1 ? ",\n" : "\n");
+                }
+
+                w.write("        );\n");
+                w.write("    }\n");
+                w.write("}\n");
+            }
+
+            FileObject service = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + ROUTE_INDEX, origins);
+            try (Writer w = service.openWriter()) {
+                w.write(indexClass + "\n");
+            }
+
+        } catch (IOException e) {
+            messager.printMessage(Diagnostic.Kind.ERROR, "Impossible de générer " + indexClass + " : " + e.getMessage());
+        }
+    }
+
+    private String parameterTypes(ExecutableElement method) {
+        StringBuilder sb = new StringBuilder();
+        for (VariableElement p : method.getParameters())
+            sb.append(", ").append(types.erasure(p.asType())).append(".class");
+        return sb.toString();
+    }
+
+    private static String literal(String s) {
+        return "\"" + s.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+
+    private void error(Element e, String message) {
+        messager.printMessage(Diagnostic.Kind.ERROR, message, e);
+    }
+
+    private void warn(Element e, String message) {
+        messager.printMessage(Diagnostic.Kind.WARNING, message, e);
+    }
+}
@@ -1,47 +1,135 @@
 package com.framework.annotation;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
-import java.util.ArrayList;
-import java.util.Enumeration;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.net.JarURLConnection;
 import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class AnnotationScanner {
 
     public static List<Class<?>> getAnnotatedClasses(String packageName, Class<? extends Annotation> annotation) {
-        List<Class<?>> result = new ArrayList<>();
+        return getAnnotatedClasses(List.of(packageName), annotation, Thread.currentThread().getContextClassLoader());
+    }
+
+    /**
+     * Cherche les classes portant l'annotation dans les packages (et leurs sous-packages),
+     * qu'ils soient dans un dossier ou dans un JAR.
+     *
+     * Les fichiers .class sont lus en parallèle et filtrés sur leurs octets : seules les classes
+     * annotées sont chargées, sans être initialisées.
+     */
+    public static List<Class<?>> getAnnotatedClasses(Collection<String> packageNames,
+                                                     Class<? extends Annotation> annotation,
+                                                     ClassLoader classLoader) {
+        // 1. Inventaire des fichiers .class (séquentiel, peu coûteux), par nom de ressource :
+        // des packages imbriqués (com.app, com.app.web) ne font lire chaque classe qu'une fois
+        Map<String, ClassSource> sources = new LinkedHashMap<>();
+        List<JarFile> jars = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+
+        for (String packageName : packageNames) {
+            String path = packageName.trim().replace('.', '/');
+            if (path.isEmpty()) continue;
+            try {
+                Enumeration<URL> resources = classLoader.getResources(path);
+                while (resources.hasMoreElements()) {
+                    URL resource = resources.nextElement();
+                    if (!seen.add(resource.toString())) continue;
+
+                    if ("jar".equals(resource.getProtocol())) listJar(resource, path, sources, jars);
+                    else if ("file".equals(resource.getProtocol())) listDirectory(Paths.get(resource.toURI()), path, sources);
+                }
+            } catch (Exception e) {
+                e.printStackTrace();
+            }
+        }
+
+        // 2. Lecture des octets + filtre sur les annotations, en parallèle
+        String descriptor = ClassFileAnnotations.descriptorOf(annotation);
 
-        // Convertir le package en chemin de ressources
-        String path = packageName.replace('.', '/');
         try {
-            ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
-            // Récupérer les ressources dans ce package
-            Enumeration<URL> resources = classLoader.getResources(path);
-            while (resources.hasMoreElements()) {
-                URL resource = resources.nextElement();
-                File directory = new File(resource.toURI());
-                if (directory.exists()) {
-                    for (File file : directory.listFiles()) {
-                        if (file.getName().endsWith(".class")) {
-                            String className = packageName + "." + file.getName().replace(".class", "");
-                            Class<?> clazz = Class.forName(className);
-                            if (clazz.isAnnotationPresent(annotation)) {
-                                result.add(clazz);
-                            }
-                        }
-                    }
+            return scan(sources.values(), descriptor, annotation, classLoader);
+        } finally {
+            for (JarFile jar : jars) {
+                try {
+                    jar.close();
+                } catch (IOException e) {
+                    e.printStackTrace();
                 }
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
-        return result;
+    }
+
+    private static List<Class<?>> scan(Collection<ClassSource> sources, String descriptor,
+                                       Class<? extends Annotation> annotation, ClassLoader classLoader) {
+        return sources.parallelStream()
+                .map(source -> {
+                    try (InputStream in = source.open()) {
+                        ClassFileAnnotations meta = ClassFileAnnotations.read(in);
+                        if (!meta.has(descriptor)) return null;
+
+                        // 3. Chargement sans initialisation
+                        Class<?> clazz = Class.forName(meta.className(), false, classLoader);
+                        return clazz.isAnnotationPresent(annotation) ? clazz : null;
+                    } catch (Exception | LinkageError e) {
+                        e.printStackTrace();
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparing(Class::getName))
+                .collect(Collectors.toList());
+    }
+
+    /** Une entrée .class à lire (fichier ou entrée de JAR) */
+    @FunctionalInterface
+    private interface ClassSource {
+        InputStream open() throws IOException;
+    }
+
+    private static void listDirectory(Path directory, String path, Map<String, ClassSource> sources) throws IOException {
+        if (!Files.isDirectory(directory)) return;
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.filter(f -> isClassFile(f.getFileName().toString()))
+                 .forEach(f -> sources.putIfAbsent(path + "/" + directory.relativize(f).toString().replace('\\', '/'),
+                         () -> Files.newInputStream(f)));
+        }
+    }
+
+    private static void listJar(URL resource, String path, Map<String, ClassSource> sources, List<JarFile> jars)
+            throws IOException {
+        JarURLConnection connection = (JarURLConnection) resource.openConnection();
+        connection.setUseCaches(false);
+
+        // JarFile propre au scan, fermé une fois toutes les entrées lues
+        JarFile jar = connection.getJarFile();
+        jars.add(jar);
+        String prefix = path + "/";
+
+        Enumeration<JarEntry> entries = jar.entries();
+        while (entries.hasMoreElements()) {
+            JarEntry entry = entries.nextElement();
+            String name = entry.getName();
+            if (!entry.isDirectory() && name.startsWith(prefix) && isClassFile(name.substring(name.lastIndexOf('/') + 1)))
+                sources.putIfAbsent(name, () -> jar.getInputStream(entry));
+        }
+    }
+
+    private static boolean isClassFile(String fileName) {
+        return fileName.endsWith(".class")
+                && !fileName.equals("module-info.class")
+                && !fileName.equals("package-info.class");
     }
 
 
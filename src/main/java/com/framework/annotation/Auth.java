@@ -7,4 +7,5 @@ import java.lang.annotation.*;
 public @interface Auth {
     boolean authenticated() default false; // cas 2 et 3
     String role() default "";               // cas 3
+    String[] roles() default {};            // cas 3, plusieurs rôles acceptés (l'un d'eux suffit)
 }
@@ -0,0 +1,15 @@
+package com.framework.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Paramètre lu depuis le corps JSON de la requête (application/json), en flux.
+ * Iterator&lt;T&gt; ou Stream&lt;T&gt; : tableau JSON consommé élément par élément.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.PARAMETER)
+public @interface Body {
+}
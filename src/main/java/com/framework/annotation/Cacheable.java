@@ -0,0 +1,11 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+    long ttl() default 60;            // durée de vie en secondes
+    String[] key() default {};        // paramètres formant la clé (vide = tous les arguments bindés)
+    boolean perRole() default false;  // une entrée par rôle de session (role.session.key)
+}
@@ -0,0 +1,127 @@
+package com.framework.annotation;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lecture minimale d'un fichier .class : nom de la classe et annotations visibles à l'exécution
+ * posées sur la classe, sans charger ni initialiser quoi que ce soit.
+ */
+final class ClassFileAnnotations {
+
+    private static final int MAGIC = 0xCAFEBABE;
+
+    private final String className;
+    private final List<String> annotationDescriptors;
+
+    private ClassFileAnnotations(String className, List<String> annotationDescriptors) {
+        this.className = className;
+        this.annotationDescriptors = annotationDescriptors;
+    }
+
+    /** Nom binaire de la classe ("com.test.controllers.UserController") */
+    String className() {
+        return className;
+    }
+
+    /** Vrai si la classe porte l'annotation (descripteur "Lcom/framework/annotation/Controller;") */
+    boolean has(String descriptor) {
+        return annotationDescriptors.contains(descriptor);
+    }
+
+    static String descriptorOf(Class<?> annotation) {
+        return "L" + annotation.getName().replace('.', '/') + ";";
+    }
+
+    static ClassFileAnnotations read(InputStream input) throws IOException {
+        // Lecture complète d'abord : skipBytes est fiable sur un tableau, pas sur un flux de jar
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(input.readAllBytes()));
+
+        if (in.readInt() != MAGIC) throw new IOException("Fichier .class invalide");
+        in.readUnsignedShort(); // minor
+        in.readUnsignedShort(); // major
+
+        // Pool de constantes : on ne garde que les Utf8 et les Class
+        int count = in.readUnsignedShort();
+        String[] utf8 = new String[count];
+        int[] classNameIndex = new int[count];
+
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1 -> utf8[i] = in.readUTF();
+                case 7 -> classNameIndex[i] = in.readUnsignedShort();
+                case 8, 16, 19, 20 -> in.skipBytes(2);
+                case 15 -> in.skipBytes(3);
+                case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+                case 5, 6 -> { in.skipBytes(8); i++; } // occupe deux entrées
+                default -> throw new IOException("Tag de constante inconnu : " + tag);
+            }
+        }
+
+        in.readUnsignedShort(); // access_flags
+        String className = utf8[classNameIndex[in.readUnsignedShort()]].replace('/', '.');
+        in.readUnsignedShort(); // super_class
+        in.skipBytes(2 * in.readUnsignedShort()); // interfaces
+
+        skipMembers(in); // champs
+        skipMembers(in); // méthodes
+
+        List<String> descriptors = new ArrayList<>();
+        int attributes = in.readUnsignedShort();
+        for (int a = 0; a < attributes; a++) {
+            String name = utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+
+            if (!"RuntimeVisibleAnnotations".equals(name)) {
+                in.skipBytes(length);
+                continue;
+            }
+
+            int annotations = in.readUnsignedShort();
+            for (int i = 0; i < annotations; i++) {
+                descriptors.add(utf8[in.readUnsignedShort()]);
+                skipElementValuePairs(in);
+            }
+        }
+
+        return new ClassFileAnnotations(className, descriptors);
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        int members = in.readUnsignedShort();
+        for (int m = 0; m < members; m++) {
+            in.skipBytes(6); // access, name, descriptor
+            int attributes = in.readUnsignedShort();
+            for (int a = 0; a < attributes; a++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        int pairs = in.readUnsignedShort();
+        for (int p = 0; p < pairs; p++) {
+            in.skipBytes(2); // nom
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 'e' -> in.skipBytes(4);
+            case '@' -> { in.skipBytes(2); skipElementValuePairs(in); }
+            case '[' -> {
+                int values = in.readUnsignedShort();
+                for (int v = 0; v < values; v++) skipElementValue(in);
+            }
+            default -> in.skipBytes(2); // constantes, String, Class
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+// Nombre maximal d'exécutions simultanées de la méthode ; au-delà : 503 immédiat avec Retry-After
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxConcurrent {
+    int value();
+    long retryAfter() default 1; // secondes annoncées dans Retry-After
+}
@@ -0,0 +1,9 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+// Réponses jamais compressées (contenu déjà compressé, flux à faible latence...)
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface NoCompression {
+}
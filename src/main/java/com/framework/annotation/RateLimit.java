@@ -0,0 +1,11 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+// Débit maximal de la méthode (seau à jetons) ; au-delà : 429 avec Retry-After
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RateLimit {
+    double value();          // requêtes par seconde
+    int burst() default 0;   // rafale tolérée (0 = une seconde de débit)
+}
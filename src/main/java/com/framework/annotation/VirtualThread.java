@@ -0,0 +1,9 @@
+package com.framework.annotation;
+
+import java.lang.annotation.*;
+
+// Exécute le contrôleur (ou la méthode) sur un thread virtuel, même si dispatch.mode vaut "platform"
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface VirtualThread {
+}
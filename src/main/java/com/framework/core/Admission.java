@@ -0,0 +1,255 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.DoubleUnaryOperator;
+
+import com.framework.annotation.MaxConcurrent;
+import com.framework.annotation.RateLimit;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Contrôle d'admission, avant l'appel du contrôleur : une route lourde ne doit pas prendre
+ * tous les threads du conteneur.
+ *
+ * - @MaxConcurrent : sémaphore par route (compteur CAS), 503 au-delà ;
+ * - @RateLimit : seau à jetons par route (GCRA, un seul AtomicLong), 429 au-delà ;
+ * - limit.adaptive=true : limite globale AIMD pilotée par la latence, 503 au-delà.
+ *
+ * Aucun verrou, aucune attente : une requête en trop est refusée tout de suite, avec Retry-After.
+ */
+final class Admission {
+
+    /** Refus : statut (503 ou 429), délai annoncé dans Retry-After (secondes), message */
+    record Rejection(int status, long retryAfter, String message) {
+
+        void send(HttpServletResponse res) throws IOException {
+            res.setStatus(status);
+            res.setHeader("Retry-After", String.valueOf(retryAfter));
+            res.getWriter().println(message);
+        }
+    }
+
+    private static final Rejection OVERLOADED =
+            new Rejection(HttpServletResponse.SC_SERVICE_UNAVAILABLE, 1, "Serveur surchargé");
+
+    // Seules les routes limitées (toutes si la limite adaptative est active) ont une entrée
+    private final Map<Route, RouteLimits> byRoute = new IdentityHashMap<>();
+    private final AdaptiveLimit adaptive; // null = désactivée
+
+    Admission(List<Route> routes, BiFunction<String, String, String> config) {
+        if (Boolean.parseBoolean(config.apply("limit.adaptive", "false"))) {
+            adaptive = new AdaptiveLimit(
+                    Integer.parseInt(config.apply("limit.initial", "100")),
+                    Integer.parseInt(config.apply("limit.min", "10")),
+                    Integer.parseInt(config.apply("limit.max", "1000")),
+                    Double.parseDouble(config.apply("limit.tolerance", "2.0")));
+        } else {
+            adaptive = null;
+        }
+
+        for (Route route : routes) {
+            MaxConcurrent maxConcurrent = route.getMethod().getAnnotation(MaxConcurrent.class);
+            RateLimit rateLimit = route.getMethod().getAnnotation(RateLimit.class);
+            if (maxConcurrent == null && rateLimit == null && adaptive == null) continue;
+
+            if (maxConcurrent != null && maxConcurrent.value() < 1)
+                throw new IllegalStateException("@MaxConcurrent doit être ≥ 1 : " + route);
+            if (rateLimit != null && !(rateLimit.value() > 0))
+                throw new IllegalStateException("@RateLimit doit être > 0 : " + route);
+
+            byRoute.put(route, new RouteLimits(maxConcurrent, rateLimit));
+        }
+    }
+
+    /** null si la requête est admise (à libérer par {@link #release}) ; sinon le refus à renvoyer */
+    Rejection admit(Route route) {
+        RouteLimits limits = byRoute.get(route);
+        if (limits == null) return null;
+
+        if (limits.maxConcurrent > 0 && !limits.concurrency.tryAcquire(limits.maxConcurrent))
+            return limits.busy;
+
+        if (adaptive != null && !adaptive.permits.tryAcquire(adaptive.limit())) {
+            if (limits.maxConcurrent > 0) limits.concurrency.release();
+            return OVERLOADED;
+        }
+
+        // En dernier : un jeton consommé ne se rend pas
+        if (limits.rate != null) {
+            long wait = limits.rate.tryAcquire(System.nanoTime());
+            if (wait > 0) {
+                if (limits.maxConcurrent > 0) limits.concurrency.release();
+                if (adaptive != null) adaptive.permits.release();
+                return new Rejection(429, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999)),
+                        "Trop de requêtes");
+            }
+        }
+        return null;
+    }
+
+    /** Fin d'une requête admise ; sa durée pilote la limite adaptative */
+    void release(Route route, long nanos) {
+        RouteLimits limits = byRoute.get(route);
+        if (limits == null) return;
+
+        if (limits.maxConcurrent > 0) limits.concurrency.release();
+        if (adaptive != null) adaptive.release(limits, nanos);
+    }
+
+    /** Fin d'une requête admise dont la durée ne reflète pas la charge (flux SSE) : permis rendus, sans échantillon */
+    void releaseUnsampled(Route route) {
+        RouteLimits limits = byRoute.get(route);
+        if (limits == null) return;
+
+        if (limits.maxConcurrent > 0) limits.concurrency.release();
+        if (adaptive != null) adaptive.permits.release();
+    }
+
+    /** Limite globale courante, -1 si la limite adaptative est désactivée */
+    int adaptiveLimit() {
+        return adaptive != null ? adaptive.limit() : -1;
+    }
+
+    /* ---------------- PRIMITIVES ---------------- */
+
+    /** Sémaphore non bloquant : compteur incrémenté par CAS tant qu'il reste sous le maximum */
+    static final class Permits {
+
+        private final AtomicInteger used = new AtomicInteger();
+
+        boolean tryAcquire(int max) {
+            for (;;) {
+                int n = used.get();
+                if (n >= max) return false;
+                if (used.compareAndSet(n, n + 1)) return true;
+            }
+        }
+
+        /** Libère un permis ; retourne le nombre de permis utilisés juste avant */
+        int release() {
+            return used.getAndDecrement();
+        }
+    }
+
+    /**
+     * Seau à jetons sous forme GCRA : un seul instant théorique d'arrivée (tat) avancé par CAS.
+     * Une requête passe si tat - now ≤ (burst - 1) × intervalle, ce qui équivaut à un seau de
+     * burst jetons rempli à raison d'un jeton par intervalle.
+     */
+    static final class TokenBucket {
+
+        private final long interval;
+        private final long tolerance;
+        private final AtomicLong tat;
+
+        TokenBucket(double perSecond, int burst) {
+            this.interval = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+            int size = burst > 0 ? burst : Math.max(1, (int) Math.ceil(perSecond));
+            this.tolerance = (size - 1) * interval;
+            this.tat = new AtomicLong(System.nanoTime());
+        }
+
+        /** 0 si un jeton est pris ; sinon l'attente (ns) avant le prochain jeton */
+        long tryAcquire(long now) {
+            for (;;) {
+                long current = tat.get();
+                long t = current - now < 0 ? now : current;
+                long wait = t - now - tolerance;
+                if (wait > 0) return wait;
+                if (tat.compareAndSet(current, t + interval)) return 0;
+            }
+        }
+    }
+
+    /** Limites d'une route, et sa latence de référence pour la limite adaptative */
+    private static final class RouteLimits {
+
+        final int maxConcurrent; // 0 = pas de @MaxConcurrent
+        final Permits concurrency = new Permits();
+        final Rejection busy;
+        final TokenBucket rate;  // null = pas de @RateLimit
+
+        // Durée de référence (ns), proche des durées basses : suit vite une baisse (1/8),
+        // lentement une hausse (1/1024) ; 0 tant qu'aucune requête n'est terminée
+        private final AtomicLong baseline = new AtomicLong();
+
+        RouteLimits(MaxConcurrent maxConcurrent, RateLimit rateLimit) {
+            this.maxConcurrent = maxConcurrent != null ? maxConcurrent.value() : 0;
+            this.busy = maxConcurrent != null
+                    ? new Rejection(HttpServletResponse.SC_SERVICE_UNAVAILABLE, maxConcurrent.retryAfter(), "Route saturée")
+                    : null;
+            this.rate = rateLimit != null ? new TokenBucket(rateLimit.value(), rateLimit.burst()) : null;
+        }
+
+        /** Intègre une durée ; retourne la référence d'avant (0 pour la première) */
+        long sample(long nanos) {
+            return baseline.getAndUpdate(b -> b == 0 ? nanos : b + (nanos - b) / (nanos < b ? 8 : 1024));
+        }
+    }
+
+    /**
+     * Limite globale de requêtes simultanées, AIMD :
+     * - une requête nettement plus lente que la référence de sa route (× limit.tolerance)
+     *   réduit la limite de 10 %, au plus une fois par durée de cette requête (une vague lente
+     *   ne compte qu'une fois) ;
+     * - sinon, si la limite est utilisée au moins à moitié, elle gagne 1/limite
+     *   (+1 par « limite » requêtes rapides).
+     * La référence étant propre à chaque route, une route lente par nature ne fait pas baisser
+     * la limite ; seule une dégradation par rapport à son propre passé compte, et une lenteur qui
+     * dure des milliers de requêtes finit par devenir la nouvelle référence.
+     */
+    private static final class AdaptiveLimit {
+
+        private static final double BACKOFF = 0.9;
+
+        final Permits permits = new Permits();
+        private final int min;
+        private final int max;
+        private final double tolerance;
+        private final AtomicLong limitBits;
+        private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+
+        AdaptiveLimit(int initial, int min, int max, double tolerance) {
+            if (min < 1 || max < min || initial < min || initial > max)
+                throw new IllegalStateException("limit.min ≤ limit.initial ≤ limit.max attendu, avec limit.min ≥ 1");
+            this.min = min;
+            this.max = max;
+            this.tolerance = tolerance;
+            this.limitBits = new AtomicLong(Double.doubleToRawLongBits(initial));
+        }
+
+        int limit() {
+            return (int) Double.longBitsToDouble(limitBits.get());
+        }
+
+        void release(RouteLimits route, long nanos) {
+            int used = permits.release();
+            long reference = route.sample(nanos);
+
+            if (reference > 0 && nanos > tolerance * reference) {
+                long now = System.nanoTime();
+                long last = lastDecrease.get();
+                if (now - last > nanos && lastDecrease.compareAndSet(last, now))
+                    update(l -> Math.max(min, l * BACKOFF));
+            } else if (2 * used >= limit()) {
+                update(l -> Math.min(max, l + 1 / l));
+            }
+        }
+
+        private void update(DoubleUnaryOperator f) {
+            for (;;) {
+                long bits = limitBits.get();
+                long next = Double.doubleToRawLongBits(f.applyAsDouble(Double.longBitsToDouble(bits)));
+                if (limitBits.compareAndSet(bits, next)) return;
+            }
+        }
+    }
+}
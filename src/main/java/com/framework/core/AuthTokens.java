@@ -0,0 +1,99 @@
+package com.framework.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Collection;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Jetons d'authentification signés (HMAC-SHA256), vérifiables sans session côté serveur.
+ *
+ * Forme : base64url(sujet "\n" rôles séparés par des virgules "\n" expiration en secondes epoch)
+ * "." base64url(signature). Le même secret (init-param auth.token.secret) signe et vérifie.
+ */
+public final class AuthTokens {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** Contenu d'un jeton dont la signature est valide */
+    record Claims(String subject, String[] roles, long expiresAt) {}
+
+    private final SecretKeySpec key;
+
+    // Mac n'est pas thread-safe : une instance par thread
+    private final ThreadLocal<Mac> macs;
+
+    private AuthTokens(String secret) {
+        this.key = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), ALGORITHM);
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    static AuthTokens withSecret(String secret) {
+        return new AuthTokens(secret);
+    }
+
+    /** Jeton pour un utilisateur et ses rôles, valable ttl (à renvoyer en cookie ou en Bearer) */
+    public static String issue(String secret, String subject, Collection<String> roles, Duration ttl) {
+        if (subject.indexOf('\n') >= 0) throw new IllegalArgumentException("Sujet invalide : " + subject);
+        for (String role : roles)
+            if (role.indexOf(',') >= 0 || role.indexOf('\n') >= 0)
+                throw new IllegalArgumentException("Rôle invalide : " + role);
+
+        long expiresAt = System.currentTimeMillis() / 1000 + ttl.toSeconds();
+        String payload = ENCODER.encodeToString(
+                (subject + "\n" + String.join(",", roles) + "\n" + expiresAt).getBytes(StandardCharsets.UTF_8));
+        return payload + "." + new AuthTokens(secret).sign(payload);
+    }
+
+    /** Contenu du jeton si la signature est valide (l'expiration est vérifiée par l'appelant), sinon null */
+    Claims verify(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) return null;
+
+        String payload = token.substring(0, dot);
+        byte[] expected = macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII));
+        byte[] actual;
+        try {
+            actual = DECODER.decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(expected, actual)) return null;
+
+        String[] parts;
+        try {
+            parts = new String(DECODER.decode(payload), StandardCharsets.UTF_8).split("\n", -1);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (parts.length != 3) return null;
+
+        try {
+            String[] roles = parts[1].isEmpty() ? new String[0] : parts[1].split(",");
+            return new Claims(parts[0], roles, Long.parseLong(parts[2]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private String sign(String payload) {
+        return ENCODER.encodeToString(macs.get().doFinal(payload.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 indisponible", e);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+package com.framework.core;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import com.framework.annotation.Auth;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Contrôle d'accès @Auth, compilé au démarrage : une règle par route, rôles en masque de bits.
+ *
+ * L'identité vient d'un backend choisi par l'init-param auth.backend :
+ * "session" (défaut, attributs auth.session.key / role.session.key, lus dans le store de session.store) ou
+ * "token" (jeton HMAC {@link AuthTokens} en "Authorization: Bearer" ou en cookie, sans session).
+ */
+final class Authorization {
+
+    // Sujet du jeton, posé sur la requête pour les contrôleurs
+    static final String SUBJECT_ATTRIBUTE = "framework.auth.subject";
+
+    /** Utilisateur reconnu ; roles = masque des rôles utilisés par les routes, roleNames pour les clés de cache */
+    record Identity(boolean authenticated, String subject, long roles, String roleNames, long expiresAtMillis) {}
+
+    /** Règle d'une route : authentification exigée et/ou l'un des rôles du masque */
+    record Policy(boolean authenticated, long roles) {}
+
+    interface Backend {
+        /** Identité de la requête, ou null */
+        Identity identify(HttpServletRequest req);
+    }
+
+    // Un bit par rôle cité dans un @Auth
+    private final Map<String, Long> roleBits = new HashMap<>();
+    private final Map<Route, Policy> policies = new IdentityHashMap<>();
+    private final Backend backend;
+
+    /** config : (nom de l'init-param, valeur par défaut) → valeur */
+    Authorization(List<Route> routes, Sessions sessions, BiFunction<String, String, String> config) {
+        for (Route route : routes) {
+            Policy policy = compile(route.getAuth());
+            if (policy != null) policies.put(route, policy);
+        }
+
+        String name = config.apply("auth.backend", "session");
+        backend = switch (name) {
+            case "session" -> new SessionBackend(sessions, config.apply("auth.session.key", null), config.apply("role.session.key", null));
+            case "token" -> {
+                String secret = config.apply("auth.token.secret", null);
+                if (secret == null || secret.isEmpty())
+                    throw new IllegalStateException("auth.backend=token : init-param auth.token.secret manquant");
+                yield new TokenBackend(AuthTokens.withSecret(secret),
+                        config.apply("auth.token.cookie", "auth_token"),
+                        Integer.parseInt(config.apply("auth.token.cacheSize", "10000")));
+            }
+            default -> throw new IllegalStateException("auth.backend inconnu : " + name);
+        };
+    }
+
+    private Policy compile(Auth auth) {
+        if (auth == null) return null;
+
+        long roles = 0;
+        if (!auth.role().isEmpty()) roles |= bitOf(auth.role());
+        for (String role : auth.roles()) roles |= bitOf(role);
+
+        if (!auth.authenticated() && roles == 0) return null; // accès libre
+        return new Policy(auth.authenticated(), roles);
+    }
+
+    private long bitOf(String role) {
+        Long bit = roleBits.get(role);
+        if (bit == null) {
+            if (roleBits.size() == Long.SIZE)
+                throw new IllegalStateException("@Auth : plus de " + Long.SIZE + " rôles distincts");
+            bit = 1L << roleBits.size();
+            roleBits.put(role, bit);
+        }
+        return bit;
+    }
+
+    /** Masque des rôles ; les rôles qu'aucune route ne demande sont ignorés */
+    private long maskOf(String... roles) {
+        long mask = 0;
+        for (String role : roles) {
+            Long bit = roleBits.get(role);
+            if (bit != null) mask |= bit;
+        }
+        return mask;
+    }
+
+    /** Vrai si la requête peut appeler la route */
+    boolean check(Route route, HttpServletRequest req) {
+        Policy policy = policies.get(route);
+        if (policy == null) return true;
+
+        Identity identity = backend.identify(req);
+        if (identity == null) return false;
+        if (policy.authenticated() && !identity.authenticated()) return false;
+        if (policy.roles() != 0 && (identity.roles() & policy.roles()) == 0) return false;
+
+        if (identity.subject() != null) req.setAttribute(SUBJECT_ATTRIBUTE, identity.subject());
+        return true;
+    }
+
+    /** Rôles de la requête pour une clé de cache, ou null */
+    String roleKey(HttpServletRequest req) {
+        Identity identity = backend.identify(req);
+        return identity != null ? identity.roleNames() : null;
+    }
+
+    /* ---------------- BACKENDS ---------------- */
+
+    /** Identité stockée en session par l'application, là où FrameworkSession l'écrit (session.store) */
+    private final class SessionBackend implements Backend {
+
+        private final Sessions sessions;
+        private final String authKey;
+        private final String roleKey;
+
+        SessionBackend(Sessions sessions, String authKey, String roleKey) {
+            this.sessions = sessions;
+            this.authKey = authKey;
+            this.roleKey = roleKey;
+        }
+
+        @Override
+        public Identity identify(HttpServletRequest req) {
+            boolean authenticated = authKey != null && Boolean.TRUE.equals(sessions.attribute(req, authKey));
+            Object role = roleKey != null ? sessions.attribute(req, roleKey) : null;
+            if (!authenticated && role == null) return null;
+
+            String roleName = role != null ? role.toString() : null;
+            return new Identity(authenticated, null, roleName != null ? maskOf(roleName) : 0, roleName, Long.MAX_VALUE);
+        }
+    }
+
+    /** Jeton signé : vérifié une fois, puis servi depuis le cache jusqu'à son expiration */
+    private final class TokenBackend implements Backend {
+
+        private final AuthTokens tokens;
+        private final String cookieName;
+        private final int cacheSize;
+        private final Map<String, Identity> verified = new ConcurrentHashMap<>();
+
+        TokenBackend(AuthTokens tokens, String cookieName, int cacheSize) {
+            this.tokens = tokens;
+            this.cookieName = cookieName;
+            this.cacheSize = cacheSize;
+        }
+
+        @Override
+        public Identity identify(HttpServletRequest req) {
+            String token = tokenOf(req);
+            if (token == null) return null;
+
+            Identity identity = verified.get(token);
+            if (identity == null) {
+                AuthTokens.Claims claims = tokens.verify(token);
+                if (claims == null) return null; // signature invalide : jamais mis en cache
+
+                String[] roles = claims.roles().clone();
+                Arrays.sort(roles);
+                identity = new Identity(true, claims.subject(), maskOf(roles), String.join(",", roles),
+                        claims.expiresAt() * 1000);
+
+                if (verified.size() >= cacheSize) verified.clear();
+                verified.put(token, identity);
+            }
+
+            if (System.currentTimeMillis() >= identity.expiresAtMillis()) {
+                verified.remove(token);
+                return null;
+            }
+            return identity;
+        }
+
+        private String tokenOf(HttpServletRequest req) {
+            String header = req.getHeader("Authorization");
+            if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7))
+                return header.substring(7).trim();
+
+            Cookie[] cookies = req.getCookies();
+            if (cookies != null)
+                for (Cookie cookie : cookies)
+                    if (cookieName.equals(cookie.getName())) return cookie.getValue();
+            return null;
+        }
+    }
+}
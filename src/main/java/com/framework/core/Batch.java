@@ -0,0 +1,583 @@
+package com.framework.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.StringReader;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Route de lot (init-param batch.path) : plusieurs appels routés dans une seule requête HTTP.
+ *
+ * Corps : [{"method": "GET", "url": "/users/1?x=1", "params": {"a": "1", "b": ["x", "y"]}}, ...].
+ * Chaque élément passe par la chaîne normale (routage, @Auth, binding, handleReturn) avec une requête
+ * et une réponse enveloppées. Les GET consécutifs s'exécutent en parallèle ; tout autre verbe est
+ * exécuté seul, dans l'ordre. Réponse : [{"status", "contentType", "body"}, ...] dans l'ordre du lot.
+ *
+ * Les GET parallèles ne touchent pas la requête du conteneur : en-têtes, cookies et session sont
+ * lus avant leur lancement ({@link Snapshot}), et une vue JSP (forward) y est refusée.
+ */
+final class Batch {
+
+    /** Traitement d'une requête par la chaîne du servlet */
+    @FunctionalInterface
+    interface Dispatcher {
+        void dispatch(HttpServletRequest req, HttpServletResponse res) throws IOException, ServletException;
+    }
+
+    // En-têtes de la requête de lot qui ne concernent pas les sous-requêtes
+    private static final Set<String> HIDDEN_HEADERS = Set.of(
+            "content-type", "content-length", "if-none-match", "if-modified-since", "accept-encoding");
+
+    private record Item(String method, String path, String queryString, Map<String, String[]> params) {}
+
+    private final String path;
+    private final int maxItems;
+    private final Executor executor;
+    private final Dispatcher dispatcher;
+
+    Batch(String path, int maxItems, Executor executor, Dispatcher dispatcher) {
+        this.path = path;
+        this.maxItems = maxItems;
+        this.executor = executor;
+        this.dispatcher = dispatcher;
+    }
+
+    String path() {
+        return path;
+    }
+
+    void serve(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        if (!"POST".equals(req.getMethod())) {
+            res.setStatus(HttpServletResponse.SC_METHOD_NOT_ALLOWED);
+            res.setHeader("Allow", "POST");
+            return;
+        }
+
+        List<Item> items;
+        try {
+            items = parse(new JsonReader(new InputStreamReader(req.getInputStream(), StandardCharsets.UTF_8)), maxItems);
+        } catch (JsonParseException | MalformedJsonException | EOFException | IllegalArgumentException | IllegalStateException e) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            res.getWriter().println("Lot invalide : " + e.getMessage());
+            return;
+        }
+        if (items == null) {
+            res.setStatus(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            res.getWriter().println("Lot trop grand : plus de " + maxItems + " éléments");
+            return;
+        }
+
+        SubResponse[] results = new SubResponse[items.size()];
+        List<CompletableFuture<Void>> reads = new ArrayList<>();
+        Snapshot snapshot = null; // un par groupe de GET : une écriture peut changer la session
+
+        for (int i = 0; i < items.size(); i++) {
+            Item item = items.get(i);
+            SubResponse subRes = new SubResponse(res);
+            results[i] = subRes;
+
+            if ("GET".equals(item.method())) {
+                if (snapshot == null) snapshot = new Snapshot(req);
+                SubRequest subReq = new SubRequest(req, item, snapshot);
+                reads.add(CompletableFuture.runAsync(() -> run(subReq, subRes), executor));
+                continue;
+            }
+
+            // Écriture : après les lectures qui la précèdent, avant celles qui la suivent
+            CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).join();
+            reads.clear();
+            snapshot = null;
+            run(new SubRequest(req, item, null), subRes);
+        }
+        CompletableFuture.allOf(reads.toArray(CompletableFuture[]::new)).join();
+
+        // Cookies des éléments (session créée...) : posés ici, seul thread autorisé sur la réponse du conteneur
+        for (SubResponse result : results) result.copyCookies(res);
+
+        res.setContentType("application/json;charset=UTF-8");
+        JsonWriter w = new JsonWriter(res.getWriter());
+        w.beginArray();
+        for (SubResponse result : results) result.write(w);
+        w.endArray();
+        w.flush();
+    }
+
+    private void run(SubRequest req, SubResponse res) {
+        if (path.equals(req.getPathInfo())) {
+            res.setStatus(HttpServletResponse.SC_BAD_REQUEST); // pas de lot dans un lot
+            return;
+        }
+        try {
+            dispatcher.dispatch(req, res);
+        } catch (Exception e) {
+            res.failed(e);
+        }
+    }
+
+    /* ---------------- LECTURE DU LOT ---------------- */
+
+    /** Éléments du lot, lus un à un ; null dès que maxItems est dépassé (le reste du corps n'est pas lu) */
+    private static List<Item> parse(JsonReader reader, int maxItems) throws IOException {
+        reader.setLenient(true);
+        if (reader.peek() != JsonToken.BEGIN_ARRAY) throw new IllegalArgumentException("tableau JSON attendu");
+
+        List<Item> items = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            if (items.size() == maxItems) return null;
+            items.add(item(JsonParser.parseReader(reader)));
+        }
+        reader.endArray();
+        return items;
+    }
+
+    private static Item item(JsonElement element) {
+        if (!element.isJsonObject()) throw new IllegalArgumentException("élément non objet : " + element);
+        JsonObject o = element.getAsJsonObject();
+
+        String method = o.has("method") ? string(o.get("method"), "method").toUpperCase() : "GET";
+        if (!o.has("url")) throw new IllegalArgumentException("url manquante : " + element);
+        String url = string(o.get("url"), "url");
+
+        Map<String, String[]> params = new LinkedHashMap<>();
+        String query = null;
+        int q = url.indexOf('?');
+        if (q >= 0) {
+            query = url.substring(q + 1);
+            url = url.substring(0, q);
+            parseQuery(query, params);
+        }
+
+        if (o.has("params")) {
+            if (!o.get("params").isJsonObject()) throw new IllegalArgumentException("params doit être un objet");
+            for (Map.Entry<String, JsonElement> e : o.getAsJsonObject("params").entrySet()) {
+                JsonElement value = e.getValue();
+                if (value.isJsonArray()) {
+                    JsonArray array = value.getAsJsonArray();
+                    String[] values = new String[array.size()];
+                    for (int i = 0; i < values.length; i++) values[i] = string(array.get(i), e.getKey());
+                    params.put(e.getKey(), values);
+                } else if (!value.isJsonNull()) {
+                    params.put(e.getKey(), new String[] {string(value, e.getKey())});
+                }
+            }
+        }
+
+        return new Item(method, url, query, params);
+    }
+
+    /** Valeur texte, nombre ou booléen ; un objet, un tableau ou null est une erreur du client */
+    private static String string(JsonElement value, String name) {
+        if (!value.isJsonPrimitive()) throw new IllegalArgumentException(name + " : valeur simple attendue, reçu " + value);
+        return value.getAsString();
+    }
+
+    /**
+     * Identifiant d'une session créée par un SessionStore : partagé par les GET parallèles
+     * d'un même groupe (une seule session, un seul cookie), sinon create.get().
+     */
+    static String sessionId(HttpServletRequest req, Supplier<String> create) {
+        if (req instanceof SubRequest sub && sub.snapshot != null) return sub.snapshot.storeSessionId(create);
+        return create.get();
+    }
+
+    private static void parseQuery(String query, Map<String, String[]> params) {
+        for (String pair : query.split("&")) {
+            if (pair.isEmpty()) continue;
+            int eq = pair.indexOf('=');
+            String name = URLDecoder.decode(eq >= 0 ? pair.substring(0, eq) : pair, StandardCharsets.UTF_8);
+            String value = eq >= 0 ? URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8) : "";
+
+            String[] existing = params.get(name);
+            if (existing == null) {
+                params.put(name, new String[] {value});
+            } else {
+                String[] values = Arrays.copyOf(existing, existing.length + 1);
+                values[existing.length] = value;
+                params.put(name, values);
+            }
+        }
+    }
+
+    /* ---------------- SOUS-REQUÊTE ---------------- */
+
+    /**
+     * En-têtes, cookies et session de la requête de lot, lus sur le thread du conteneur avant un groupe
+     * de GET parallèles. Seule la création d'une session repasse par le conteneur, une fois, sous verrou.
+     */
+    private static final class Snapshot {
+
+        private final HttpServletRequest batch;
+        private final Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        private final Cookie[] cookies;
+        private HttpSession session;   // sous le verrou
+        private String storeSessionId; // sous le verrou
+
+        Snapshot(HttpServletRequest batch) {
+            this.batch = batch;
+            for (Enumeration<String> names = batch.getHeaderNames(); names.hasMoreElements(); ) {
+                String name = names.nextElement();
+                if (!HIDDEN_HEADERS.contains(name.toLowerCase())) headers.put(name, Collections.list(batch.getHeaders(name)));
+            }
+            this.cookies = batch.getCookies();
+            this.session = batch.getSession(false);
+        }
+
+        String header(String name) {
+            List<String> values = headers.get(name);
+            return values != null && !values.isEmpty() ? values.get(0) : null;
+        }
+
+        Enumeration<String> headers(String name) {
+            return Collections.enumeration(headers.getOrDefault(name, List.of()));
+        }
+
+        Enumeration<String> headerNames() {
+            return Collections.enumeration(headers.keySet());
+        }
+
+        // Copie : un Cookie est modifiable
+        Cookie[] cookies() {
+            if (cookies == null) return null;
+            Cookie[] copy = new Cookie[cookies.length];
+            for (int i = 0; i < copy.length; i++) copy[i] = (Cookie) cookies[i].clone();
+            return copy;
+        }
+
+        synchronized HttpSession session(boolean create) {
+            if (session == null && create) session = batch.getSession(true);
+            return session;
+        }
+
+        synchronized String storeSessionId(Supplier<String> create) {
+            if (storeSessionId == null) storeSessionId = create.get();
+            return storeSessionId;
+        }
+    }
+
+    /**
+     * Requête d'un élément : verbe, URL et paramètres propres ; session et en-têtes de la requête de lot,
+     * lus dans le snapshot pour un GET parallèle (snapshot null : élément exécuté seul, sur le thread du conteneur).
+     */
+    private static final class SubRequest extends HttpServletRequestWrapper {
+
+        private final Item item;
+        private final Snapshot snapshot;
+        private final Map<String, Object> attributes = new HashMap<>();
+
+        SubRequest(HttpServletRequest batch, Item item, Snapshot snapshot) {
+            super(batch);
+            this.item = item;
+            this.snapshot = snapshot;
+        }
+
+        private HttpServletRequest batch() {
+            return (HttpServletRequest) getRequest();
+        }
+
+        @Override public String getMethod() { return item.method(); }
+        @Override public String getPathInfo() { return item.path(); }
+        @Override public String getQueryString() { return item.queryString(); }
+
+        @Override
+        public String getRequestURI() {
+            return batch().getContextPath() + batch().getServletPath() + item.path();
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer();
+            url.append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+            return url.append(getRequestURI());
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = item.params().get(name);
+            return values != null && values.length > 0 ? values[0] : null;
+        }
+
+        @Override public Map<String, String[]> getParameterMap() { return Collections.unmodifiableMap(item.params()); }
+        @Override public Enumeration<String> getParameterNames() { return Collections.enumeration(item.params().keySet()); }
+        @Override public String[] getParameterValues(String name) { return item.params().get(name); }
+
+        // Pas de corps : les paramètres sont dans l'élément du lot
+        @Override public String getContentType() { return null; }
+        @Override public int getContentLength() { return 0; }
+        @Override public long getContentLengthLong() { return 0; }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream empty = new ByteArrayInputStream(new byte[0]);
+            return new ServletInputStream() {
+                @Override public int read() { return empty.read(); }
+                @Override public boolean isFinished() { return true; }
+                @Override public boolean isReady() { return true; }
+                @Override public void setReadListener(ReadListener listener) {}
+            };
+        }
+
+        @Override
+        public String getHeader(String name) {
+            if (HIDDEN_HEADERS.contains(name.toLowerCase())) return null;
+            return snapshot != null ? snapshot.header(name) : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (HIDDEN_HEADERS.contains(name.toLowerCase())) return Collections.emptyEnumeration();
+            return snapshot != null ? snapshot.headers(name) : super.getHeaders(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaderNames() {
+            return snapshot != null ? snapshot.headerNames() : super.getHeaderNames();
+        }
+
+        @Override
+        public int getIntHeader(String name) {
+            String value = getHeader(name);
+            return value != null ? Integer.parseInt(value) : -1;
+        }
+
+        @Override
+        public long getDateHeader(String name) {
+            String value = getHeader(name);
+            if (value == null) return -1;
+            if (snapshot == null) return super.getDateHeader(name);
+            try {
+                return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Date invalide dans l'en-tête " + name + " : " + value);
+            }
+        }
+
+        @Override public Cookie[] getCookies() { return snapshot != null ? snapshot.cookies() : super.getCookies(); }
+
+        @Override public HttpSession getSession(boolean create) { return snapshot != null ? snapshot.session(create) : super.getSession(create); }
+        @Override public HttpSession getSession() { return getSession(true); }
+
+        // Un forward JSP passe par la requête du conteneur : impossible depuis un GET parallèle
+        @Override
+        public RequestDispatcher getRequestDispatcher(String path) {
+            if (snapshot != null)
+                throw new IllegalStateException("Vue JSP (" + path + ") indisponible dans un GET parallèle d'un lot ; "
+                        + "utiliser un gabarit .tpl ou @Json");
+            return super.getRequestDispatcher(path);
+        }
+
+        // Attributs propres à l'élément (les éléments parallèles ne se voient pas)
+        @Override public Object getAttribute(String name) {
+            Object value = attributes.get(name);
+            return value != null ? value : super.getAttribute(name);
+        }
+        @Override public void setAttribute(String name, Object value) { attributes.put(name, value); }
+        @Override public void removeAttribute(String name) { attributes.remove(name); }
+
+        // Les éléments s'exécutent jusqu'au bout : un CompletionStage est attendu sur place
+        @Override public boolean isAsyncSupported() { return false; }
+        @Override public boolean isAsyncStarted() { return false; }
+
+        @Override
+        public AsyncContext startAsync() {
+            throw new IllegalStateException("Mode asynchrone indisponible dans un lot");
+        }
+
+        @Override
+        public AsyncContext startAsync(ServletRequest req, ServletResponse res) {
+            throw new IllegalStateException("Mode asynchrone indisponible dans un lot");
+        }
+    }
+
+    /* ---------------- SOUS-RÉPONSE ---------------- */
+
+    /**
+     * Réponse d'un élément gardée en mémoire, jamais transmise à la réponse du lot ;
+     * Compression ne la traverse pas (la compression de la réponse du lot ne dépend pas d'un élément).
+     */
+    static final class SubResponse extends HttpServletResponseWrapper {
+
+        private int status = SC_OK;
+        private String contentType;
+        private final Map<String, String> headers = new LinkedHashMap<>();
+        private final List<Cookie> cookies = new ArrayList<>();
+
+        private CharArrayWriter chars;
+        private PrintWriter writer;
+        private ByteArrayOutputStream bytes;
+        private ServletOutputStream output;
+
+        SubResponse(HttpServletResponse batch) {
+            super(batch);
+        }
+
+        @Override public void setStatus(int sc) { status = sc; }
+        @Override public int getStatus() { return status; }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            status = sc;
+            if (msg != null) getWriter().print(msg);
+        }
+
+        @Override public void sendError(int sc) { status = sc; }
+        @Override public void sendRedirect(String location) { status = SC_FOUND; headers.put("Location", location); }
+
+        @Override public void setContentType(String type) { contentType = type; }
+        @Override public String getContentType() { return contentType; }
+        @Override public void setCharacterEncoding(String charset) {}
+        @Override public void setContentLength(int len) {}
+        @Override public void setContentLengthLong(long len) {}
+
+        @Override public void setHeader(String name, String value) { headers.put(name, value); }
+        @Override public void addHeader(String name, String value) { headers.merge(name, value, (a, b) -> a + ", " + b); }
+        @Override public String getHeader(String name) { return headers.get(name); }
+        @Override public void setIntHeader(String name, int value) { setHeader(name, String.valueOf(value)); }
+        @Override public void addIntHeader(String name, int value) { addHeader(name, String.valueOf(value)); }
+        @Override public void setDateHeader(String name, long date) { setHeader(name, String.valueOf(date)); }
+        @Override public void addDateHeader(String name, long date) { addHeader(name, String.valueOf(date)); }
+        @Override public boolean containsHeader(String name) { return headers.containsKey(name); }
+        @Override public void addCookie(Cookie cookie) { cookies.add(cookie); }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                chars = new CharArrayWriter();
+                writer = new PrintWriter(chars);
+            }
+            return writer;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (output == null) {
+                bytes = new ByteArrayOutputStream();
+                output = new ServletOutputStream() {
+                    @Override public void write(int b) { bytes.write(b); }
+                    @Override public void write(byte[] b, int off, int len) { bytes.write(b, off, len); }
+                    @Override public boolean isReady() { return true; }
+                    @Override public void setWriteListener(WriteListener listener) {}
+                };
+            }
+            return output;
+        }
+
+        @Override public boolean isCommitted() { return false; }
+        @Override public void flushBuffer() {}
+
+        @Override
+        public void resetBuffer() {
+            if (chars != null) chars.reset();
+            if (bytes != null) bytes.reset();
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            cookies.clear();
+            status = SC_OK;
+            contentType = null;
+        }
+
+        void copyCookies(HttpServletResponse batch) {
+            for (Cookie cookie : cookies) batch.addCookie(cookie);
+        }
+
+        void failed(Exception e) {
+            reset();
+            status = SC_INTERNAL_SERVER_ERROR;
+            e.printStackTrace(getWriter());
+        }
+
+        String body() {
+            StringBuilder body = new StringBuilder();
+            if (writer != null) {
+                writer.flush();
+                body.append(chars.toCharArray());
+            }
+            if (bytes != null) body.append(bytes.toString(StandardCharsets.UTF_8));
+            return body.toString();
+        }
+
+        void write(JsonWriter w) throws IOException {
+            String body = body();
+            boolean json = contentType != null && contentType.startsWith("application/json");
+
+            w.beginObject();
+            w.name("status").value(status);
+            w.name("contentType").value(contentType);
+            if (!headers.isEmpty()) {
+                w.name("headers").beginObject();
+                for (Map.Entry<String, String> h : headers.entrySet()) w.name(h.getKey()).value(h.getValue());
+                w.endObject();
+            }
+            w.name("body");
+            // JSON complet d'un succès : recopié tel quel ; sinon (erreur, écriture interrompue) en chaîne
+            if (json && status < 400 && isJson(body)) w.jsonValue(body.trim());
+            else w.value(body);
+            w.endObject();
+        }
+
+        /** Une seule valeur JSON bien formée (lecture stricte) */
+        private static boolean isJson(String body) {
+            if (body.isBlank()) return false;
+            try {
+                JsonReader reader = new JsonReader(new StringReader(body));
+                reader.skipValue();
+                return reader.peek() == JsonToken.END_DOCUMENT;
+            } catch (IOException | IllegalStateException e) {
+                return false;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,217 @@
+package com.framework.core;
+
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.*;
+
+import com.framework.annotation.Body;
+import com.framework.annotation.RequestParam;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+/**
+ * Plan de binding des arguments d'une méthode de contrôleur, compilé une fois par route.
+ * Chaque paramètre reçoit un résolveur spécialisé ; la requête se contente de les exécuter.
+ */
+final class BindingPlan {
+
+    /** Lecture de la valeur d'un paramètre pour une requête */
+    @FunctionalInterface
+    interface ArgumentResolver {
+        Object resolve(RequestContext ctx) throws Exception;
+    }
+
+    private final ArgumentResolver[] resolvers;
+    private final Object[] defaults;
+    private final boolean acceptsBindingResult;
+
+    private BindingPlan(ArgumentResolver[] resolvers, Object[] defaults, boolean acceptsBindingResult) {
+        this.resolvers = resolvers;
+        this.defaults = defaults;
+        this.acceptsBindingResult = acceptsBindingResult;
+    }
+
+    /** Exécute le plan : une valeur par paramètre, valeur par défaut si rien n'est trouvé */
+    Object[] bind(RequestContext ctx) throws Exception {
+        Object[] args = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            Object value = resolvers[i].resolve(ctx);
+            args[i] = value != null ? value : defaults[i];
+        }
+        return args;
+    }
+
+    /** La méthode déclare un BindingResult : elle traite elle-même les erreurs de conversion */
+    boolean acceptsBindingResult() {
+        return acceptsBindingResult;
+    }
+
+    /* ---------------- COMPILATION ---------------- */
+
+    static BindingPlan compile(Parameter[] params, Set<String> pathVariableNames) {
+        ArgumentResolver[] resolvers = new ArgumentResolver[params.length];
+        Object[] defaults = new Object[params.length];
+        boolean acceptsBindingResult = false;
+        int bodies = 0;
+
+        for (int i = 0; i < params.length; i++) {
+            // Le corps ne se lit qu'une fois
+            if (params[i].isAnnotationPresent(Body.class) && ++bodies > 1)
+                throw new IllegalStateException("Un seul paramètre @Body par méthode : "
+                        + params[i].getDeclaringExecutable().getDeclaringClass().getName() + "."
+                        + params[i].getDeclaringExecutable().getName());
+
+            resolvers[i] = resolverFor(params[i], pathVariableNames);
+            defaults[i] = defaultValue(params[i].getType());
+            acceptsBindingResult |= params[i].getType() == BindingResult.class;
+        }
+
+        return new BindingPlan(resolvers, defaults, acceptsBindingResult);
+    }
+
+    /** Même ordre de priorité que l'ancienne chaîne if/else de resolveMethodArguments */
+    private static ArgumentResolver resolverFor(Parameter p, Set<String> pathVariableNames) {
+        Class<?> type = p.getType();
+        String name = p.getName();
+        ConverterRegistry converters = ConverterRegistry.shared();
+
+        // ================= CORPS JSON =================
+        if (p.isAnnotationPresent(Body.class)) {
+            return JsonBody.resolver(p);
+        }
+
+        // ================= MAP =================
+        if (Map.class.isAssignableFrom(type)) {
+            boolean bytesMap = type == Map.class;
+            return ctx -> {
+                if (!ctx.isMultipart()) return buildMapParam(ctx.request());
+                return bytesMap ? ctx.multipart().bytes() : null;
+            };
+        }
+
+        // ================= FICHIERS =================
+        // Seul ce qui est déclaré est fait : aucune copie pour Part, disque seulement pour Path
+        if (type == Part.class) {
+            return ctx -> ctx.isMultipart() ? ctx.multipart().file(name) : null;
+        }
+        if (type == Part[].class) {
+            return ctx -> ctx.isMultipart() ? ctx.multipart().files(name) : new Part[0];
+        }
+        if (type == Path.class) {
+            return ctx -> {
+                if (!ctx.isMultipart()) return null;
+                Part part = ctx.multipart().file(name);
+                return part != null ? ctx.multipart().save(part) : null;
+            };
+        }
+        if (type == InputStream.class) {
+            return ctx -> {
+                if (!ctx.isMultipart()) return null;
+                Part part = ctx.multipart().file(name);
+                return part != null ? part.getInputStream() : null;
+            };
+        }
+
+        // ================= VARIABLE DE CHEMIN =================
+        if (pathVariableNames.contains(name)) {
+            Converter<?> converter = required(converters, p);
+            return ctx -> ctx.convert(name, ctx.pathVariable(name), type, converter);
+        }
+
+        // ================= @RequestParam =================
+        if (p.isAnnotationPresent(RequestParam.class)) {
+            String key = p.getAnnotation(RequestParam.class).value();
+            Converter<?> converter = required(converters, p);
+            return ctx -> ctx.convert(key, ctx.request().getParameter(key), type, converter);
+        }
+
+        // ================= ERREURS DE CONVERSION =================
+        if (type == BindingResult.class) {
+            return RequestContext::bindingResult;
+        }
+
+        // ================= TABLEAU DE VALEURS SIMPLES =================
+        // ids=1&ids=2 ou ids[0]=1&ids[1]=2
+        if (type.isArray() && converters.supports(type.getComponentType())) {
+            Class<?> componentType = type.getComponentType();
+            Converter<?> converter = converters.find(componentType);
+            return ctx -> {
+                String[] values = ctx.request().getParameterValues(name);
+                if (values == null) {
+                    ParamTree node = ctx.params().find(name);
+                    int maxIndex = node != null ? node.maxIndex() : -1;
+                    values = new String[maxIndex + 1];
+                    for (int j = 0; j <= maxIndex; j++)
+                        values[j] = node.item(j) != null ? node.item(j).value() : null;
+                }
+                Object array = Array.newInstance(componentType, values.length);
+                for (int j = 0; j < values.length; j++) {
+                    Object value = ctx.convert(name, j, values[j], componentType, converter);
+                    if (value != null) Array.set(array, j, value);
+                }
+                return array;
+            };
+        }
+
+        // ================= TABLEAU D'OBJETS =================
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            return ctx -> {
+                ParamTree node = ctx.params().find(name);
+                int maxIndex = node != null ? node.maxIndex() : -1;
+                Object array = Array.newInstance(componentType, maxIndex + 1);
+                for (int j = 0; j <= maxIndex; j++) {
+                    Array.set(array, j, DataBinder.bind(componentType, node.item(j), ctx.bindingResult(), name + "[" + j + "]"));
+                }
+                return array;
+            };
+        }
+
+        // ================= SESSION =================
+        if (type == FrameworkSession.class) {
+            return RequestContext::session;
+        }
+
+        // ================= VALEUR SIMPLE =================
+        Converter<?> converter = converters.find(type);
+        if (converter != null) {
+            return ctx -> ctx.convert(name, ctx.request().getParameter(name), type, converter);
+        }
+
+        // ================= OBJET COMPLEXE =================
+        return ctx -> DataBinder.bind(type, ctx.params().find(name), ctx.bindingResult(), name);
+    }
+
+    /* ---------------- OUTILS ---------------- */
+
+    /** Convertisseur d'une variable de chemin / @RequestParam : son absence est une erreur de démarrage */
+    private static Converter<?> required(ConverterRegistry converters, Parameter p) {
+        Converter<?> converter = converters.find(p.getType());
+        if (converter == null)
+            throw new IllegalStateException("Type " + p.getType().getName() + " non convertible depuis une chaîne : "
+                    + p.getDeclaringExecutable().getDeclaringClass().getName() + "."
+                    + p.getDeclaringExecutable().getName() + "(" + p.getName() + ")");
+        return converter;
+    }
+
+    private static Map<String, Object> buildMapParam(HttpServletRequest req) {
+        Map<String, Object> map = new HashMap<>();
+        req.getParameterMap().forEach((k, v) -> map.put(k, v.length == 1 ? v[0] : v));
+        return map;
+    }
+
+    private static Object defaultValue(Class<?> t) {
+        if (t == int.class) return 0;
+        if (t == long.class) return 0L;
+        if (t == double.class) return 0.0;
+        if (t == float.class) return 0f;
+        if (t == boolean.class) return false;
+        if (t == short.class) return (short) 0;
+        if (t == byte.class) return (byte) 0;
+        if (t == char.class) return '\0';
+        return null;
+    }
+}
@@ -0,0 +1,50 @@
+package com.framework.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Erreurs de conversion d'une requête.
+ *
+ * Une méthode de contrôleur qui déclare un paramètre BindingResult est appelée malgré les
+ * erreurs (les valeurs invalides valent null / la valeur par défaut) ; sinon la requête
+ * reçoit une réponse 400 qui liste les erreurs.
+ */
+public final class BindingResult {
+
+    /** Valeur refusée : champ ("user.address.zip", "ids[2]"), valeur reçue, type attendu */
+    public record FieldError(String field, String rejectedValue, String expectedType) {}
+
+    private List<FieldError> errors; // créée à la première erreur
+
+    public boolean hasErrors() {
+        return errors != null;
+    }
+
+    public List<FieldError> getErrors() {
+        return errors != null ? Collections.unmodifiableList(errors) : List.of();
+    }
+
+    /** Première erreur du champ, ou null */
+    public FieldError getFieldError(String field) {
+        if (errors == null) return null;
+        for (FieldError error : errors)
+            if (error.field().equals(field)) return error;
+        return null;
+    }
+
+    void reject(String field, String rejectedValue, Class<?> expectedType) {
+        reject(field, rejectedValue, expectedType.getSimpleName());
+    }
+
+    void reject(String field, String rejectedValue, String expectedType) {
+        if (errors == null) errors = new ArrayList<>(2);
+        errors.add(new FieldError(field, rejectedValue, expectedType));
+    }
+
+    @Override
+    public String toString() {
+        return "BindingResult" + getErrors();
+    }
+}
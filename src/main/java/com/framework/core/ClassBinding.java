@@ -0,0 +1,154 @@
+package com.framework.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Modèle de binding d'une classe, calculé une seule fois puis mis en cache :
+ * constructeur, et pour chaque champ son accesseur (dérivé d'un VarHandle) et sa nature.
+ */
+final class ClassBinding {
+
+    enum Kind { SIMPLE, ARRAY, NESTED }
+
+    private static final ClassValue<ClassBinding> CACHE = new ClassValue<>() {
+        @Override
+        protected ClassBinding computeValue(Class<?> type) {
+            return new ClassBinding(type);
+        }
+    };
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private final Class<?> type;
+    private final MethodHandle constructor; // null si pas de constructeur sans argument
+    private final Map<String, FieldBinding> fields = new HashMap<>();
+
+    static ClassBinding of(Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    private ClassBinding(Class<?> type) {
+        this.type = type;
+
+        MethodHandles.Lookup lookup = lookupFor(type);
+        this.constructor = findConstructor(lookup, type);
+
+        // Champs déclarés + hérités ; un champ de la sous-classe masque celui du parent
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            MethodHandles.Lookup fieldLookup = c == type ? lookup : lookupFor(c);
+            for (Field f : c.getDeclaredFields()) {
+                if (Modifier.isStatic(f.getModifiers()) || f.isSynthetic()) continue;
+                if (fields.containsKey(f.getName())) continue;
+                FieldBinding binding = FieldBinding.of(fieldLookup, f);
+                if (binding != null) fields.put(f.getName(), binding);
+            }
+        }
+    }
+
+    /** Nouvelle instance via le constructeur sans argument */
+    Object newInstance() throws Exception {
+        if (constructor == null)
+            throw new NoSuchMethodException(type.getName() + ".<init>() introuvable pour le binding");
+        try {
+            return (Object) constructor.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    FieldBinding field(String name) {
+        return fields.get(name);
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) {
+        try {
+            return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+        } catch (IllegalAccessException e) {
+            return MethodHandles.publicLookup();
+        }
+    }
+
+    private static MethodHandle findConstructor(MethodHandles.Lookup lookup, Class<?> type) {
+        if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isPrimitive() || type.isArray())
+            return null;
+        try {
+            return lookup.findConstructor(type, MethodType.methodType(void.class))
+                    .asType(MethodType.methodType(Object.class));
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /** Type converti depuis une chaîne (voir {@link ConverterRegistry}) */
+    static boolean isSimple(Class<?> type) {
+        return ConverterRegistry.shared().supports(type);
+    }
+
+    /* ---------------- CHAMP ---------------- */
+
+    static final class FieldBinding {
+
+        final Class<?> type;
+        final Class<?> componentType; // pour les tableaux
+        final Kind kind;
+        final Converter<?> converter; // du champ (SIMPLE) ou des éléments (tableau de valeurs simples)
+
+        private final MethodHandle getter; // (Object)Object
+        private final MethodHandle setter; // (Object, Object)void
+
+        private FieldBinding(Class<?> type, Kind kind, MethodHandle getter, MethodHandle setter) {
+            this.type = type;
+            this.componentType = type.getComponentType();
+            this.kind = kind;
+            this.converter = ConverterRegistry.shared().find(componentType != null ? componentType : type);
+            this.getter = getter;
+            this.setter = setter;
+        }
+
+        static FieldBinding of(MethodHandles.Lookup lookup, Field f) {
+            if (Modifier.isFinal(f.getModifiers())) return null;
+            try {
+                VarHandle vh = lookup.findVarHandle(f.getDeclaringClass(), f.getName(), f.getType());
+                MethodHandle getter = vh.toMethodHandle(VarHandle.AccessMode.GET).asType(GETTER_TYPE);
+                MethodHandle setter = vh.toMethodHandle(VarHandle.AccessMode.SET).asType(SETTER_TYPE);
+
+                Class<?> type = f.getType();
+                Kind kind = type.isArray() ? Kind.ARRAY : isSimple(type) ? Kind.SIMPLE : Kind.NESTED;
+                return new FieldBinding(type, kind, getter, setter);
+
+            } catch (ReflectiveOperationException e) {
+                return null; // champ inaccessible : ignoré par le binding
+            }
+        }
+
+        Object get(Object target) throws Exception {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+
+        void set(Object target, Object value) throws Exception {
+            try {
+                setter.invokeExact(target, value);
+            } catch (Exception | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new IllegalStateException(t);
+            }
+        }
+    }
+}
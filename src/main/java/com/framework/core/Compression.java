@@ -0,0 +1,397 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.ServletResponseWrapper;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Compression gzip / deflate des réponses routées, négociée sur Accept-Encoding.
+ *
+ * La réponse n'est jamais mise en mémoire en entier : les minSize premiers octets servent
+ * à décider (taille, type, statut), puis tout passe directement dans le Deflater.
+ * Les Deflater (mémoire native) sont pris dans un pool borné et réinitialisés après usage.
+ */
+final class Compression {
+
+    private static final String DEFAULT_TYPES = "text/html,text/plain,text/css,text/xml,text/csv,"
+            + "application/json,application/javascript,application/xml,application/x-ndjson";
+
+    // En-tête gzip fixe : méthode deflate, pas de nom ni de date, OS inconnu
+    private static final byte[] GZIP_HEADER = {0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff};
+
+    private final int minSize;
+    private final Set<String> types;
+    private final Pool gzipPool;
+    private final Pool deflatePool;
+
+    Compression(BiFunction<String, String, String> config) {
+        this.minSize = Integer.parseInt(config.apply("compression.minSize", "1024"));
+        this.types = Arrays.stream(config.apply("compression.types", DEFAULT_TYPES).split(","))
+                .map(String::trim)
+                .filter(t -> !t.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+
+        int level = Integer.parseInt(config.apply("compression.level", "6"));
+        int poolSize = Integer.parseInt(config.apply("compression.pool",
+                String.valueOf(4 * Runtime.getRuntime().availableProcessors())));
+        this.gzipPool = new Pool(level, true, poolSize);
+        this.deflatePool = new Pool(level, false, poolSize);
+    }
+
+    /** Réponse compressante si le client l'accepte, sinon la réponse telle quelle */
+    HttpServletResponse wrap(HttpServletRequest req, HttpServletResponse res) {
+        if ("HEAD".equals(req.getMethod())) return res;
+
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        if (StaticResources.accepts(acceptEncoding, "gzip")) return new CompressingResponse(res, this, gzipPool);
+        if (StaticResources.accepts(acceptEncoding, "deflate")) return new CompressingResponse(res, this, deflatePool);
+        return res;
+    }
+
+    /** Termine la compression (fin du flux gzip) ; sans effet sur une réponse non compressante */
+    static void finish(ServletResponse res) throws IOException {
+        CompressingResponse c = unwrap(res);
+        if (c != null) c.finish();
+    }
+
+    /** Désactive la compression de cette réponse (@NoCompression) ; à appeler avant toute écriture */
+    static void bypass(ServletResponse res) {
+        CompressingResponse c = unwrap(res);
+        if (c != null) c.bypass();
+    }
+
+    /** Réponse compressée sous d'éventuels wrappers (GuardedResponse...), ou null ; pas au-delà d'un élément de lot */
+    private static CompressingResponse unwrap(ServletResponse res) {
+        while (!(res instanceof CompressingResponse) && !(res instanceof Batch.SubResponse)
+                && res instanceof ServletResponseWrapper wrapper)
+            res = wrapper.getResponse();
+        return res instanceof CompressingResponse c ? c : null;
+    }
+
+    /** ETag sans le suffixe ajouté aux représentations compressées ("...-gzip\"") */
+    static String baseEtag(String etag) {
+        return etag.replaceFirst("-(gzip|deflate)\"$", "\"");
+    }
+
+    private boolean compressible(String contentType) {
+        if (contentType == null) return false;
+        int semicolon = contentType.indexOf(';');
+        String mime = (semicolon >= 0 ? contentType.substring(0, semicolon) : contentType).trim().toLowerCase();
+        return types.contains(mime);
+    }
+
+    /* ---------------- POOL ---------------- */
+
+    /** Deflater + tampon de sortie + CRC, réutilisés d'une réponse à l'autre */
+    private static final class Codec {
+
+        final Deflater deflater;
+        final byte[] buffer = new byte[8192];
+        final CRC32 crc = new CRC32();
+
+        Codec(int level, boolean gzip) {
+            // gzip : flux deflate brut (nowrap), en-tête et fin écrits à la main
+            this.deflater = new Deflater(level, gzip);
+        }
+    }
+
+    private static final class Pool {
+
+        final int level;
+        final boolean gzip;
+        final String encoding;
+        private final BlockingQueue<Codec> idle;
+
+        Pool(int level, boolean gzip, int size) {
+            this.level = level;
+            this.gzip = gzip;
+            this.encoding = gzip ? "gzip" : "deflate";
+            this.idle = new ArrayBlockingQueue<>(Math.max(1, size));
+        }
+
+        Codec borrow() {
+            Codec codec = idle.poll();
+            return codec != null ? codec : new Codec(level, gzip);
+        }
+
+        void release(Codec codec) {
+            codec.deflater.reset();
+            codec.crc.reset();
+            if (!idle.offer(codec)) codec.deflater.end(); // pool plein : mémoire native rendue tout de suite
+        }
+    }
+
+    /* ---------------- RÉPONSE ---------------- */
+
+    private static final class CompressingResponse extends HttpServletResponseWrapper {
+
+        private enum State { BUFFERING, IDENTITY, COMPRESSING, FINISHED }
+
+        private final Compression compression;
+        private final Pool pool;
+
+        private State state = State.BUFFERING;
+        private byte[] head;  // premiers octets, avant décision
+        private int headCount;
+        private Codec codec;
+
+        private ServletOutputStream stream;
+        private PrintWriter writer;
+
+        CompressingResponse(HttpServletResponse res, Compression compression, Pool pool) {
+            super(res);
+            this.compression = compression;
+            this.pool = pool;
+        }
+
+        /* ---- Flux ---- */
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (stream == null) {
+                stream = new ServletOutputStream() {
+                    @Override public void write(int b) throws IOException { write(new byte[] {(byte) b}, 0, 1); }
+                    @Override public void write(byte[] b, int off, int len) throws IOException { CompressingResponse.this.write(b, off, len); }
+                    @Override public void flush() throws IOException { CompressingResponse.this.flush(); }
+                    @Override public void close() throws IOException { finish(); }
+                    @Override public boolean isReady() { return ready(); }
+                    @Override public void setWriteListener(WriteListener listener) { setListener(listener); }
+                };
+            }
+            return stream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null)
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), Charset.forName(getCharacterEncoding())));
+            return writer;
+        }
+
+        private boolean ready() {
+            try {
+                return state != State.IDENTITY || getResponse().getOutputStream().isReady();
+            } catch (IOException e) {
+                return false;
+            }
+        }
+
+        // Écriture non bloquante : pas de compression, le flux du conteneur est utilisé tel quel
+        private void setListener(WriteListener listener) {
+            bypass();
+            if (state != State.IDENTITY) throw new IllegalStateException("Écriture non bloquante sur une réponse déjà compressée");
+            try {
+                getResponse().getOutputStream().setWriteListener(listener);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private void write(byte[] b, int off, int len) throws IOException {
+            switch (state) {
+                case BUFFERING -> {
+                    if (head == null) head = new byte[compression.minSize];
+                    if (headCount + len <= head.length) {
+                        System.arraycopy(b, off, head, headCount, len);
+                        headCount += len;
+                        return;
+                    }
+                    decide();
+                    write(b, off, len);
+                }
+                case IDENTITY -> getResponse().getOutputStream().write(b, off, len);
+                case COMPRESSING -> deflate(b, off, len);
+                case FINISHED -> throw new IOException("Réponse déjà terminée");
+            }
+        }
+
+        // flush() d'un Writer ne force pas la décision : seul flushBuffer() (flux continu) le fait
+        private void flush() throws IOException {
+            if (state == State.COMPRESSING) syncFlush();
+            else if (state == State.IDENTITY) getResponse().getOutputStream().flush();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+            if (state == State.BUFFERING) decide();
+            flush();
+            super.flushBuffer();
+        }
+
+        /** Premiers octets connus (ou flux continu) : compression ou passage direct */
+        private void decide() throws IOException {
+            int status = getStatus();
+            boolean compress = compression.compressible(getContentType())
+                    && status >= 200 && status != SC_NO_CONTENT && status != SC_NOT_MODIFIED
+                    && !containsHeader("Content-Encoding");
+
+            if (compress) {
+                codec = pool.borrow();
+                state = State.COMPRESSING;
+
+                setHeader("Content-Encoding", pool.encoding);
+                addHeader("Vary", "Accept-Encoding");
+                String etag = getHeader("ETag");
+                if (etag != null && etag.endsWith("\"")) setHeader("ETag", etag.replaceFirst("\"$", "-" + pool.encoding + "\""));
+
+                if (pool.gzip) getResponse().getOutputStream().write(GZIP_HEADER);
+                if (headCount > 0) deflate(head, 0, headCount);
+            } else {
+                state = State.IDENTITY;
+                if (headCount > 0) getResponse().getOutputStream().write(head, 0, headCount);
+            }
+            head = null;
+            headCount = 0;
+        }
+
+        private void deflate(byte[] b, int off, int len) throws IOException {
+            if (pool.gzip) codec.crc.update(b, off, len);
+            Deflater deflater = codec.deflater;
+            deflater.setInput(b, off, len);
+            while (!deflater.needsInput()) {
+                int n = deflater.deflate(codec.buffer, 0, codec.buffer.length, Deflater.NO_FLUSH);
+                if (n > 0) getResponse().getOutputStream().write(codec.buffer, 0, n);
+            }
+        }
+
+        private void syncFlush() throws IOException {
+            int n;
+            do {
+                n = codec.deflater.deflate(codec.buffer, 0, codec.buffer.length, Deflater.SYNC_FLUSH);
+                if (n > 0) getResponse().getOutputStream().write(codec.buffer, 0, n);
+            } while (n == codec.buffer.length);
+            getResponse().getOutputStream().flush();
+        }
+
+        void finish() throws IOException {
+            if (state == State.FINISHED) return;
+            if (writer != null) writer.flush();
+
+            if (state == State.BUFFERING) {
+                // Réponse courte : envoyée telle quelle, longueur connue
+                state = State.IDENTITY;
+                if (headCount > 0 && !isCommitted()) super.setContentLength(headCount);
+                if (headCount > 0) getResponse().getOutputStream().write(head, 0, headCount);
+                head = null;
+            } else if (state == State.COMPRESSING) {
+                Deflater deflater = codec.deflater;
+                deflater.finish();
+                while (!deflater.finished()) {
+                    int n = deflater.deflate(codec.buffer);
+                    if (n > 0) getResponse().getOutputStream().write(codec.buffer, 0, n);
+                }
+                if (pool.gzip) {
+                    byte[] trailer = new byte[8];
+                    writeIntLE(trailer, 0, (int) codec.crc.getValue());
+                    writeIntLE(trailer, 4, (int) deflater.getBytesRead());
+                    getResponse().getOutputStream().write(trailer);
+                }
+                pool.release(codec);
+                codec = null;
+            }
+            state = State.FINISHED;
+        }
+
+        void bypass() {
+            if (state == State.BUFFERING && headCount == 0) state = State.IDENTITY;
+        }
+
+        private static void writeIntLE(byte[] b, int off, int value) {
+            b[off] = (byte) value;
+            b[off + 1] = (byte) (value >>> 8);
+            b[off + 2] = (byte) (value >>> 16);
+            b[off + 3] = (byte) (value >>> 24);
+        }
+
+        /* ---- En-têtes et remises à zéro ---- */
+
+        // La longueur du corps compressé n'est pas connue à l'avance
+        @Override public void setContentLength(int len) { if (state == State.IDENTITY) super.setContentLength(len); }
+        @Override public void setContentLengthLong(long len) { if (state == State.IDENTITY) super.setContentLengthLong(len); }
+
+        @Override
+        public void resetBuffer() {
+            if (writer != null) writer.flush(); // vide le tampon du Writer dans le nôtre, jeté ensuite
+            super.resetBuffer();
+            headCount = 0;
+            if (state == State.COMPRESSING) {
+                codec.deflater.reset();
+                codec.crc.reset();
+                if (pool.gzip) {
+                    try {
+                        getResponse().getOutputStream().write(GZIP_HEADER);
+                    } catch (IOException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void reset() {
+            if (writer != null) writer.flush();
+            super.reset(); // retire aussi Content-Encoding
+            headCount = 0;
+            if (codec != null) {
+                pool.release(codec);
+                codec = null;
+            }
+            if (state != State.FINISHED) state = State.BUFFERING;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            if (state == State.COMPRESSING) {
+                // Content-Encoding déjà posé : le message passe par le flux compressé
+                resetBuffer();
+                setStatus(sc);
+                if (msg != null) getWriter().print(msg);
+                return;
+            }
+            discardForContainer();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            sendError(sc, null);
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            if (state == State.COMPRESSING) {
+                resetBuffer();
+                setStatus(SC_FOUND);
+                setHeader("Location", location);
+                return;
+            }
+            discardForContainer();
+            super.sendRedirect(location);
+        }
+
+        // Page d'erreur / redirection écrites par le conteneur : plus rien ne passe par nous
+        private void discardForContainer() {
+            head = null;
+            headCount = 0;
+            state = State.FINISHED;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.framework.core;
+
+import java.util.Map;
+import java.util.Set;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Stockage historique : l'HttpSession du conteneur, liée à une requête (l'identifiant est ignoré).
+ * La session n'est créée qu'à la première écriture.
+ */
+final class ContainerSessionStore implements SessionStore {
+
+    private final HttpServletRequest req;
+    private HttpSession session;
+
+    ContainerSessionStore(HttpServletRequest req) {
+        this.req = req;
+    }
+
+    ContainerSessionStore(HttpSession session) {
+        this.req = null;
+        this.session = session;
+    }
+
+    private HttpSession session(boolean create) {
+        if (session == null && req != null) session = req.getSession(create);
+        return session;
+    }
+
+    @Override
+    public boolean exists(String id) {
+        return session(false) != null;
+    }
+
+    @Override
+    public Object get(String id, String name) {
+        HttpSession s = session(false);
+        return s != null ? s.getAttribute(name) : null;
+    }
+
+    @Override
+    public void save(String id, Map<String, Object> changed, Set<String> removed) {
+        HttpSession s = session(true);
+        changed.forEach(s::setAttribute);
+        removed.forEach(s::removeAttribute);
+    }
+
+    @Override
+    public void invalidate(String id) {
+        HttpSession s = session(false);
+        if (s != null) s.invalidate();
+        session = null;
+    }
+}
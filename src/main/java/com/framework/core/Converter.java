@@ -0,0 +1,15 @@
+package com.framework.core;
+
+/**
+ * Conversion d'une valeur de requête (paramètre, variable de chemin, champ de formulaire) vers T.
+ *
+ * Appelée à chaque requête : pas d'exception pour une entrée invalide, on retourne null
+ * et le binding enregistre l'erreur dans le {@link BindingResult}. La chaîne reçue n'est
+ * jamais null ni vide (une valeur vide est traitée comme absente).
+ */
+@FunctionalInterface
+public interface Converter<T> {
+
+    /** Valeur convertie, ou null si l'entrée est invalide */
+    T convert(String raw);
+}
@@ -0,0 +1,13 @@
+package com.framework.core;
+
+/**
+ * Fournisseur de convertisseurs, chargé par ServiceLoader
+ * (META-INF/services/com.framework.core.ConverterProvider).
+ *
+ * Appelé une fois, après l'enregistrement des convertisseurs intégrés : un type déjà connu
+ * peut donc être redéfini.
+ */
+public interface ConverterProvider {
+
+    void register(ConverterRegistry registry);
+}
@@ -0,0 +1,113 @@
+package com.framework.core;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.UUID;
+
+/**
+ * Convertisseurs chaîne → type utilisés par le binding (paramètres, variables de chemin,
+ * champs des objets bindés).
+ *
+ * Construit une fois : types intégrés, puis {@link ConverterProvider} trouvés par ServiceLoader.
+ * Chaque route et chaque champ résout son convertisseur au démarrage ; la requête n'a plus
+ * qu'un appel à faire. Les enums sont pris en charge sans enregistrement (nom exact, puis
+ * casse ignorée).
+ */
+public final class ConverterRegistry {
+
+    private static volatile ConverterRegistry shared;
+
+    private static final ClassValue<Converter<?>> ENUMS = new ClassValue<>() {
+        @Override
+        protected Converter<?> computeValue(Class<?> type) {
+            return enumConverter(type);
+        }
+    };
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = Map.of(
+            int.class, Integer.class, long.class, Long.class, short.class, Short.class,
+            byte.class, Byte.class, double.class, Double.class, float.class, Float.class,
+            boolean.class, Boolean.class, char.class, Character.class);
+
+    private final Map<Class<?>, Converter<?>> converters = new HashMap<>();
+
+    private ConverterRegistry() {
+        register(String.class, s -> s);
+        register(Integer.class, Parsers::toInteger);
+        register(Long.class, Parsers::toLong);
+        register(Short.class, Parsers::toShort);
+        register(Byte.class, Parsers::toByte);
+        register(Double.class, s -> Parsers.isDecimal(s) ? Double.valueOf(s) : null);
+        register(Float.class, s -> Parsers.isDecimal(s) ? Float.valueOf(s) : null);
+        register(Boolean.class, Parsers::toBoolean);
+        register(Character.class, Parsers::toCharacter);
+        register(BigDecimal.class, s -> Parsers.isDecimal(s) ? new BigDecimal(s) : null);
+        register(BigInteger.class, s -> Parsers.isInteger(s) ? new BigInteger(s) : null);
+        register(UUID.class, Parsers::toUuid);
+        register(LocalDate.class, Parsers::toLocalDate);
+        register(LocalTime.class, Parsers::toLocalTime);
+        register(LocalDateTime.class, Parsers::toLocalDateTime);
+    }
+
+    /** Registre de l'application, construit au premier usage (chargeur de classes du contexte) */
+    static ConverterRegistry shared() {
+        ConverterRegistry registry = shared;
+        if (registry == null) {
+            synchronized (ConverterRegistry.class) {
+                registry = shared;
+                if (registry == null) {
+                    registry = new ConverterRegistry();
+                    for (ConverterProvider provider : ServiceLoader.load(ConverterProvider.class,
+                            Thread.currentThread().getContextClassLoader()))
+                        provider.register(registry);
+                    shared = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /** Enregistre (ou remplace) le convertisseur d'un type ; pour un primitif, donner le wrapper */
+    public <T> void register(Class<T> type, Converter<? extends T> converter) {
+        converters.put(type, converter);
+    }
+
+    /** Convertisseur du type (primitif, wrapper, enum ou enregistré), ou null s'il n'y en a pas */
+    Converter<?> find(Class<?> type) {
+        if (type.isPrimitive()) type = WRAPPERS.get(type);
+        if (type == null) return null; // void
+
+        Converter<?> converter = converters.get(type);
+        if (converter != null) return converter;
+
+        // Constante à corps propre : sa classe est une sous-classe anonyme de l'enum
+        if (Enum.class.isAssignableFrom(type) && type != Enum.class)
+            return ENUMS.get(type.isEnum() ? type : type.getSuperclass());
+        return null;
+    }
+
+    boolean supports(Class<?> type) {
+        return find(type) != null;
+    }
+
+    private static Converter<?> enumConverter(Class<?> type) {
+        Map<String, Object> byName = new HashMap<>();
+        Map<String, Object> byLowerName = new HashMap<>();
+        for (Object constant : type.getEnumConstants()) {
+            String name = ((Enum<?>) constant).name();
+            byName.put(name, constant);
+            byLowerName.put(name.toLowerCase(Locale.ROOT), constant);
+        }
+        return s -> {
+            Object constant = byName.get(s);
+            return constant != null ? constant : byLowerName.get(s.toLowerCase(Locale.ROOT));
+        };
+    }
+}
@@ -1,8 +1,10 @@
 package com.framework.core;
 
-import java.lang.reflect.*;
+import java.lang.reflect.Array;
 import java.util.*;
 
+import com.framework.core.ClassBinding.FieldBinding;
+
 public class DataBinder {
 
     /**
@@ -10,122 +12,119 @@ public class DataBinder {
      * Ex : e.name, e.department[0].name
      */
     public static Object bindComplexObject(Class<?> clazz, String prefix, Map<String, String[]> paramMap) throws Exception {
+        return bind(clazz, ParamTree.parse(paramMap).find(prefix));
+    }
 
-        Object instance = clazz.getDeclaredConstructor().newInstance();
-
-        // Filtrer tous les paramètres qui commencent par prefix (ex : "e.")
-        Map<String, String[]> filtered = new HashMap<>();
-        paramMap.forEach((k, v) -> {
-            if (k.startsWith(prefix + ".")) filtered.put(k.substring(prefix.length() + 1), v);
-        });
-
-        for (String key : filtered.keySet()) {
-            String[] valueArr = filtered.get(key);
-            String value = valueArr.length > 0 ? valueArr[0] : null;
-
-            applyValue(instance, clazz, key, value, filtered);
-        }
+    /**
+     * Bind à partir d’un noeud de l’arbre des paramètres (partagé par toute la requête).
+     * Un noeud null donne une instance vide, comme avant.
+     */
+    static Object bind(Class<?> clazz, ParamTree node) throws Exception {
+        return bind(clazz, node, null, null);
+    }
 
+    /**
+     * Idem, en enregistrant les valeurs invalides dans errors (si non null) sous leur chemin
+     * complet : path = "user" → "user.address.zip", "user.tags[1]"
+     */
+    static Object bind(Class<?> clazz, ParamTree node, BindingResult errors, String path) throws Exception {
+        ClassBinding binding = ClassBinding.of(clazz);
+        Object instance = binding.newInstance();
+        if (node != null) populate(instance, binding, node, errors, path);
         return instance;
     }
 
     /**
-     * Applique la valeur à l’objet selon le chemin :
+     * Applique chaque sous-noeud au champ du même nom :
      * department[0].name → instance.department[0].name = value
      */
-    private static void applyValue(Object root, Class<?> rootClass, String path, String value, Map<String, String[]> fullMap) throws Exception {
-
-        String[] parts = path.split("\\.");
-
-        Object currentObject = root;
-        Class<?> currentClass = rootClass;
-
-        for (int i = 0; i < parts.length - 1; i++) {
-
-            String part = parts[i];
-
-            // Vérifie si c’est un tableau : ex department[0]
-            if (part.matches(".+\\[\\d+\\]")) {
-
-                String fieldName = part.substring(0, part.indexOf("["));
-                int index = Integer.parseInt(part.substring(part.indexOf("[") + 1, part.indexOf("]")));
+    private static void populate(Object instance, ClassBinding binding, ParamTree node,
+                                 BindingResult errors, String path) throws Exception {
 
-                Field field = currentClass.getDeclaredField(fieldName);
-                field.setAccessible(true);
+        for (Map.Entry<String, ParamTree> e : node.children().entrySet()) {
+            FieldBinding field = binding.field(e.getKey());
+            if (field == null) continue; // paramètre sans champ correspondant
 
-                Object arrayObj = field.get(currentObject);
+            ParamTree child = e.getValue();
 
-                Class<?> componentType = field.getType().getComponentType();
-
-                // Créer tableau si null
-                if (arrayObj == null) {
-                    int max = detectMaxIndex(fieldName, fullMap);
-                    arrayObj = Array.newInstance(componentType, max + 1);
-                    field.set(currentObject, arrayObj);
+            switch (field.kind) {
+                case SIMPLE -> {
+                    Object converted = convert(child.value(), field.type, field.converter, errors, path, e.getKey(), -1);
+                    if (converted != null || !field.type.isPrimitive()) field.set(instance, converted);
                 }
-
-                // Récupérer ou créer l’élément du tableau
-                Object element = Array.get(arrayObj, index);
-                if (element == null) {
-                    element = componentType.getDeclaredConstructor().newInstance();
-                    Array.set(arrayObj, index, element);
+                case ARRAY -> {
+                    if (child.maxIndex() >= 0)
+                        field.set(instance, bindArray(field, field.get(instance), child, errors, join(path, e.getKey())));
                 }
-
-                currentObject = element;
-                currentClass = componentType;
-            }
-            else {
-                // Champ simple : ex "department"
-                Field field = currentClass.getDeclaredField(part);
-                field.setAccessible(true);
-
-                Object fieldValue = field.get(currentObject);
-
-                if (fieldValue == null) {
-                    fieldValue = field.getType().getDeclaredConstructor().newInstance();
-                    field.set(currentObject, fieldValue);
+                case NESTED -> {
+                    if (!child.hasChildren()) continue;
+
+                    // Champ simple : ex "department"
+                    Object value = field.get(instance);
+                    if (value == null) {
+                        value = ClassBinding.of(field.type).newInstance();
+                        field.set(instance, value);
+                    }
+                    populate(value, ClassBinding.of(value.getClass()), child, errors, join(path, e.getKey()));
                 }
-
-                currentObject = fieldValue;
-                currentClass = fieldValue.getClass();
             }
         }
+    }
 
-        // Maintenant on est sur le dernier segment : ex "name"
-        String last = parts[parts.length - 1];
+    /** Tableau dimensionné d’après le plus grand index présent dans l’arbre */
+    private static Object bindArray(FieldBinding field, Object existing, ParamTree node,
+                                    BindingResult errors, String path) throws Exception {
+        Class<?> componentType = field.componentType;
+        int size = node.maxIndex() + 1;
 
-        Field field = currentClass.getDeclaredField(last);
-        field.setAccessible(true);
+        Object array = existing;
+        if (array == null || Array.getLength(array) < size) {
+            array = Array.newInstance(componentType, size);
+            if (existing != null) System.arraycopy(existing, 0, array, 0, Array.getLength(existing));
+        }
 
-        Object converted = convert(value, field.getType());
+        boolean simple = field.converter != null;
+        ClassBinding elementBinding = simple ? null : ClassBinding.of(componentType);
 
-        field.set(currentObject, converted);
-    }
+        for (int i = 0; i < size; i++) {
+            ParamTree item = node.item(i);
+            if (item == null) continue; // index absent : élément laissé tel quel
+
+            if (simple) {
+                Object converted = convert(item.value(), componentType, field.converter, errors, path, null, i);
+                if (converted != null) Array.set(array, i, converted);
+                continue;
+            }
 
-    /** Trouver la taille maximale d’un tableau d’après les noms */
-    private static int detectMaxIndex(String fieldName, Map<String, String[]> paramMap) {
-        int max = 0;
-        for (String key : paramMap.keySet()) {
-            if (key.startsWith(fieldName + "[")) {
-                int i1 = key.indexOf("[") + 1;
-                int i2 = key.indexOf("]");
-                int idx = Integer.parseInt(key.substring(i1, i2));
-                if (idx > max) max = idx;
+            // Récupérer ou créer l’élément du tableau
+            Object element = Array.get(array, i);
+            if (element == null) {
+                element = elementBinding.newInstance();
+                Array.set(array, i, element);
             }
+            populate(element, ClassBinding.of(element.getClass()), item, errors, errors != null ? path + "[" + i + "]" : null);
         }
-        return max;
-    }
 
-    /** Conversion des valeurs simples */
-    private static Object convert(String raw, Class<?> type) {
-        if (raw == null) return null;
+        return array;
+    }
 
-        if (type == String.class) return raw;
-        if (type == int.class || type == Integer.class) return Integer.parseInt(raw);
-        if (type == double.class || type == Double.class) return Double.parseDouble(raw);
-        if (type == float.class || type == Float.class) return Float.parseFloat(raw);
-        if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(raw);
+    /**
+     * Conversion d'une valeur simple ; une valeur invalide donne null et, si errors est fourni,
+     * une erreur sur path.name ou path[index] (chemin construit seulement dans ce cas)
+     */
+    private static Object convert(String raw, Class<?> type, Converter<?> converter,
+                                  BindingResult errors, String path, String name, int index) {
+        if (raw == null || (raw.isEmpty() && type != String.class)) return null;
+
+        Object value = converter.convert(raw);
+        if (value == null && errors != null)
+            errors.reject(name != null ? join(path, name) : path + "[" + index + "]", raw, type);
+        return value;
+    }
 
-        return null;
+    /** Chemin d'un champ ; null quand les erreurs ne sont pas collectées */
+    private static String join(String path, String name) {
+        if (path == null) return null;
+        return path.isEmpty() ? name : path + "." + name;
     }
 }
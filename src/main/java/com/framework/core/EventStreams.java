@@ -0,0 +1,239 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Routes qui retournent un Flow.Publisher : réponse text/event-stream, requête asynchrone sans
+ * délai, événements écrits en E/S non bloquante (WriteListener). Aucun thread n'est bloqué par
+ * connexion, qu'il y en ait dix ou dix mille.
+ *
+ * Contre-pression : chaque connexion demande sse.buffer événements d'avance et n'en redemande
+ * qu'à mesure qu'ils sont écrits dans la socket ; un client lent ralentit donc son publisher.
+ * Un seul tick (sse.heartbeat ms, 0 = désactivé) envoie un commentaire aux connexions restées
+ * muettes : les proxys ne coupent pas, les clients partis sont détectés.
+ */
+final class EventStreams {
+
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8); // commentaire SSE
+
+    private final int buffer;
+    private final long heartbeat;
+    private final Set<Connection> connections = ConcurrentHashMap.newKeySet();
+    private ScheduledExecutorService ticker; // créé à la première connexion
+
+    EventStreams(BiFunction<String, String, String> config) {
+        this.buffer = Integer.parseInt(config.apply("sse.buffer", "64"));
+        this.heartbeat = Long.parseLong(config.apply("sse.heartbeat", "15000"));
+        if (buffer < 1) throw new IllegalArgumentException("sse.buffer < 1");
+    }
+
+    /** Passe la requête en asynchrone et abonne la connexion au publisher */
+    void serve(Flow.Publisher<?> publisher, HttpServletRequest req, HttpServletResponse res)
+            throws IOException, ServletException {
+
+        if (!req.isAsyncStarted() && !req.isAsyncSupported())
+            throw new ServletException("Flux SSE impossible : requête sans support asynchrone");
+
+        Compression.bypass(res); // événements envoyés un à un, pas de compression
+        res.setContentType("text/event-stream;charset=UTF-8");
+        res.setHeader("Cache-Control", "no-cache");
+        res.setHeader("X-Accel-Buffering", "no"); // nginx : pas de mise en tampon
+
+        // Déjà asynchrone (thread virtuel, CompletionStage) : on reprend le contexte existant
+        AsyncContext async = req.isAsyncStarted() ? req.getAsyncContext() : req.startAsync(req, res);
+        async.setTimeout(0); // la connexion dure tant que le flux ou le client
+
+        Connection connection = new Connection(async, res.getOutputStream());
+        connections.add(connection);
+        if (heartbeat > 0) startTicker();
+
+        async.addListener(connection);
+        connection.out.setWriteListener(connection.writes);
+        publisher.subscribe(connection);
+    }
+
+    /** Connexions ouvertes */
+    int open() {
+        return connections.size();
+    }
+
+    void close() {
+        synchronized (this) {
+            if (ticker != null) ticker.shutdownNow();
+        }
+        connections.forEach(Connection::close);
+    }
+
+    private synchronized void startTicker() {
+        if (ticker != null) return;
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "sse-heartbeat");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(this::tick, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+        ticker = executor;
+    }
+
+    /** Commentaire aux connexions sans écriture depuis le tick précédent */
+    private void tick() {
+        for (Connection connection : connections) {
+            if (!connection.active) connection.send(HEARTBEAT);
+            connection.active = false;
+        }
+    }
+
+    /**
+     * Une connexion : abonné du publisher et AsyncListener ; writes est le WriteListener du flux
+     * de sortie (onError(Throwable) existe dans les deux interfaces).
+     * Les écritures sont faites par un seul thread à la fois (compteur wip), celui qui rend le
+     * flux prêt (conteneur) ou celui qui apporte un événement (publisher, tick).
+     */
+    private final class Connection implements Flow.Subscriber<Object>, AsyncListener {
+
+        private final AsyncContext async;
+        private final ServletOutputStream out;
+        private final Queue<byte[]> pending = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger wip = new AtomicInteger();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private final WriteListener writes = new WriteListener() {
+            @Override public void onWritePossible() { drain(); }
+            @Override public void onError(Throwable error) { close(); }
+        };
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean done;   // publisher terminé : fermer une fois la file vidée
+        private volatile boolean active; // écriture depuis le dernier tick
+        private boolean unflushed;       // accédé sous wip
+
+        Connection(AsyncContext async, ServletOutputStream out) {
+            this.async = async;
+            this.out = out;
+        }
+
+        void send(byte[] chunk) {
+            pending.add(chunk);
+            drain();
+        }
+
+        /* ---- Flow.Subscriber ---- */
+
+        @Override
+        public void onSubscribe(Flow.Subscription s) {
+            if (closed.get() || subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            s.request(buffer);
+        }
+
+        @Override
+        public void onNext(Object item) {
+            byte[] chunk;
+            try {
+                chunk = ServerSentEvent.encode(item);
+            } catch (RuntimeException e) {
+                close(); // élément non sérialisable : on coupe, le client se reconnecte
+                return;
+            }
+            send(chunk);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done = true; // les événements déjà reçus partent d'abord
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            done = true;
+            drain();
+        }
+
+        /* ---- AsyncListener ---- */
+
+        @Override
+        public void onError(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            close();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            close();
+        }
+
+        @Override public void onStartAsync(AsyncEvent event) {}
+
+        /** Écrit tant que le flux est prêt ; sinon le conteneur rappellera onWritePossible */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            do {
+                int written = 0;
+                try {
+                    while (!closed.get() && out.isReady()) {
+                        byte[] chunk = pending.poll();
+                        if (chunk == null) {
+                            if (done) {
+                                close();
+                            } else if (unflushed) {
+                                unflushed = false;
+                                out.flush(); // isReady() revérifié : le flush peut rester en attente
+                                continue;
+                            }
+                            break;
+                        }
+                        out.write(chunk);
+                        unflushed = true;
+                        active = true;
+                        if (chunk != HEARTBEAT) written++;
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    close(); // client parti
+                }
+                Flow.Subscription s = subscription;
+                if (written > 0 && s != null && !closed.get()) s.request(written);
+            } while (wip.decrementAndGet() != 0);
+        }
+
+        void close() {
+            if (!closed.compareAndSet(false, true)) return;
+            connections.remove(this);
+            pending.clear();
+            Flow.Subscription s = subscription;
+            if (s != null) s.cancel();
+            try {
+                async.complete();
+            } catch (IllegalStateException ignored) {
+                // déjà terminée par le conteneur
+            }
+        }
+    }
+}
@@ -1,32 +1,113 @@
 package com.framework.core;
 
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
 import jakarta.servlet.http.HttpSession;
 
+/**
+ * Session vue par les contrôleurs.
+ *
+ * Injectée par le framework, elle suit les modifications de la requête et les écrit en une fois
+ * dans le {@link SessionStore} à la fin de l'appel du contrôleur (avant le rendu de la vue).
+ * Avec un store hors conteneur, un objet lu puis modifié sur place doit être remis avec set().
+ */
 public class FrameworkSession {
 
-    private HttpSession session;
+    private final SessionStore store;
+    private final boolean writeThrough;
+
+    // Crée une nouvelle session (identifiant + cookie) à la première écriture
+    private final Supplier<String> creator;
+    private String id;
+
+    // État de la requête
+    private final Map<String, Object> loaded = new HashMap<>();
+    private final Map<String, Object> changed = new LinkedHashMap<>();
+    private final Set<String> removed = new HashSet<>();
+    private String invalidatedId;
+    private boolean accessed;
 
+    /** Session du conteneur, écrite immédiatement à chaque appel (usage hors framework) */
     public FrameworkSession(HttpSession session) {
-        this.session = session;
+        this.store = new ContainerSessionStore(session);
+        this.writeThrough = true;
+        this.creator = () -> "";
+        this.id = "";
+    }
+
+    /** id null : pas encore de session */
+    FrameworkSession(SessionStore store, String id, Supplier<String> creator) {
+        this.store = store;
+        this.writeThrough = false;
+        this.creator = creator;
+        this.id = id;
     }
 
     // Ajouter / modifier
     public void set(String key, Object value) {
-        session.setAttribute(key, value);
+        if (value == null) {
+            remove(key); // comme HttpSession.setAttribute(key, null)
+            return;
+        }
+        removed.remove(key);
+        changed.put(key, value);
+        if (writeThrough) flush();
     }
 
     // Lire
     public Object get(String key) {
-        return session.getAttribute(key);
+        accessed = true;
+        if (changed.containsKey(key)) return changed.get(key);
+        if (removed.contains(key) || id == null) return null;
+        if (loaded.containsKey(key)) return loaded.get(key);
+
+        Object value = store.get(id, key);
+        loaded.put(key, value);
+        return value;
     }
 
     // Supprimer une variable
     public void remove(String key) {
-        session.removeAttribute(key);
+        changed.remove(key);
+        loaded.remove(key);
+        removed.add(key);
+        if (writeThrough) flush();
     }
 
     // Supprimer toute la session
     public void invalidate() {
-        session.invalidate();
+        if (id != null) invalidatedId = id;
+        id = null;
+        loaded.clear();
+        changed.clear();
+        removed.clear();
+        if (writeThrough) flush();
+    }
+
+    /** Écrit les modifications de la requête dans le store (une écriture au plus) */
+    void flush() {
+        if (invalidatedId != null) {
+            store.invalidate(invalidatedId);
+            invalidatedId = null;
+        }
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            if (accessed && id != null) store.touch(id);
+            accessed = false;
+            return;
+        }
+
+        if (id == null) id = creator.get();
+        store.save(id, new LinkedHashMap<>(changed), new HashSet<>(removed));
+
+        loaded.putAll(changed);
+        changed.clear();
+        removed.clear();
+        accessed = false;
     }
 }
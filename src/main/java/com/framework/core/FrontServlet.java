@@ -2,12 +2,23 @@ package com.framework.core;
 
 import java.io.*;
 import java.lang.reflect.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
-import java.util.regex.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import com.framework.annotation.*;
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
 
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.MultipartConfig;
@@ -16,11 +27,195 @@ import jakarta.servlet.http.*;
 @MultipartConfig
 public class FrontServlet extends HttpServlet {
 
+    // Package scanné par défaut (init-param "controllers.packages" : liste séparée par des virgules)
+    private static final String CONTROLLERS_PACKAGE = "com.test.controllers";
+
+    // Attribut de requête : Measure de la requête routée en cours
+    private static final String MEASURE = FrontServlet.class.getName() + ".measure";
+
+    // Délai dépassé : attente maximale de l'écriture en cours d'un thread virtuel (client lent)
+    private static final long REVOKE_WAIT_MILLIS = 100;
+
     private RequestDispatcher defaultDispatcher;
+    private StaticResources staticResources;
+    private RouteRegistry routes;
+    private JsonCodec jsonCodec;
+    private ResultStream resultStream;
+    private EventStreams eventStreams;
+    private TemplateEngine templates;
+    private ResponseCache responseCache;
+    private Authorization authorization;
+    private Admission admission;
+    private Compression compression; // null = désactivée (init-param compression=false)
+    private Sessions sessions;
+    private long asyncTimeout;
+
+    // Threads virtuels (JDK 21+) : null si indisponibles ; virtualByDefault si dispatch.mode = virtual
+    private ExecutorService virtualExecutor;
+    private boolean virtualByDefault;
+
+    // Métriques par route ; metricsPath (init-param metrics.path) null = pas d'endpoint
+    private Metrics metrics;
+    private String metricsPath;
+
+    // Route de lot (init-param batch.path) : null = désactivée ; batchExecutor possédé par le servlet
+    private Batch batch;
+    private ExecutorService batchExecutor;
 
     @Override
-    public void init() {
+    public void init() throws ServletException {
         defaultDispatcher = getServletContext().getNamedDispatcher("default");
+        // Recherches de ressources statiques revérifiées toutes les static.revalidate ms
+        staticResources = new StaticResources(getServletContext(), defaultDispatcher,
+                Long.parseLong(initParam("static.revalidate", "2000")));
+
+        // Stockage des sessions (session.store), lu aussi par @Auth
+        sessions = openSessions();
+
+        // Résolution des mappings une seule fois, au démarrage :
+        // index généré à la compilation s'il existe, sinon scan du package des contrôleurs
+        try {
+            List<RouteIndex> indexes = new ArrayList<>();
+            ServiceLoader.load(RouteIndex.class, Thread.currentThread().getContextClassLoader())
+                    .forEach(indexes::add);
+
+            if (!indexes.isEmpty()) {
+                routes = RouteRegistry.fromIndexes(indexes);
+            } else {
+                List<String> packages = Arrays.asList(initParam("controllers.packages", CONTROLLERS_PACKAGE).split(","));
+                List<Class<?>> controllers = AnnotationScanner.getAnnotatedClasses(
+                        packages, Controller.class, Thread.currentThread().getContextClassLoader());
+                routes = RouteRegistry.build(controllers);
+            }
+
+            // Règles @Auth compilées, backend d'identité (auth.backend : session ou token)
+            authorization = new Authorization(routes.getRoutes(), sessions, this::initParam);
+
+            // @MaxConcurrent / @RateLimit, limite adaptative globale (limit.adaptive)
+            admission = new Admission(routes.getRoutes(), this::initParam);
+        } catch (IllegalStateException | ServiceConfigurationError e) {
+            throw new ServletException(e.getMessage(), e);
+        }
+
+        // Codec JSON partagé, adaptateurs préparés pour les types de retour connus
+        jsonCodec = new JsonCodec(Boolean.parseBoolean(initParam("json.envelope.args", "true")));
+        for (Route route : routes.getRoutes())
+            if (route.isJson()) JsonCodec.warm(resultType(route.getMethod()));
+
+        // Résultats Stream / Iterator écrits en flux, envoyés tous les stream.batchSize éléments
+        resultStream = new ResultStream(jsonCodec, Integer.parseInt(initParam("stream.batchSize", "100")));
+
+        // Flow.Publisher servis en Server-Sent Events (battement toutes les sse.heartbeat ms)
+        eventStreams = new EventStreams(this::initParam);
+
+        // Gabarits intégrés (vues *.tpl) : compilés au premier rendu, ou tous au démarrage
+        templates = new TemplateEngine(getServletContext(), this::initParam);
+        if (Boolean.parseBoolean(initParam("templates.precompile", "false"))) {
+            try {
+                log(templates.precompile() + " gabarit(s) précompilé(s)");
+            } catch (IllegalStateException | UncheckedIOException e) {
+                throw new ServletException(e.getMessage(), e);
+            }
+        }
+
+        // Cache des réponses @Cacheable, borné en octets (32 Mo par défaut)
+        responseCache = new ResponseCache(Long.parseLong(initParam("cache.maxBytes", String.valueOf(32L << 20))));
+
+        // Compression gzip / deflate des réponses routées
+        if (Boolean.parseBoolean(initParam("compression", "true"))) compression = new Compression(this::initParam);
+
+        // Délai des réponses asynchrones (CompletionStage), en millisecondes
+        asyncTimeout = Long.parseLong(initParam("async.timeout", "30000"));
+
+        // Mode d'exécution des contrôleurs : "platform" (thread du conteneur) ou "virtual"
+        virtualByDefault = "virtual".equalsIgnoreCase(initParam("dispatch.mode", "platform"));
+        boolean virtualWanted = virtualByDefault || routes.getRoutes().stream().anyMatch(Route::isVirtualThread);
+        if (virtualWanted) {
+            virtualExecutor = VirtualThreads.newExecutor();
+            if (virtualExecutor == null)
+                log("Threads virtuels indisponibles sur ce JDK : les contrôleurs s'exécutent sur le thread du conteneur");
+        }
+
+        metrics = new Metrics(routes.getRoutes(), responseCache, admission);
+        metricsPath = initParam("metrics.path", null);
+
+        String batchPath = initParam("batch.path", null);
+        if (batchPath != null) {
+            ExecutorService executor = virtualExecutor;
+            if (executor == null) {
+                int threads = Integer.parseInt(initParam("batch.threads",
+                        String.valueOf(2 * Runtime.getRuntime().availableProcessors())));
+                executor = batchExecutor = Executors.newFixedThreadPool(threads, r -> {
+                    Thread t = new Thread(r, "framework-batch");
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            batch = new Batch(batchPath, Integer.parseInt(initParam("batch.maxItems", "50")), executor, this::customServe);
+        }
+    }
+
+    /** Store des FrameworkSession (init-param session.store : container, mapped ou nom de classe) */
+    private Sessions openSessions() throws ServletException {
+        String store = initParam("session.store", "container");
+        if (store.equals("container")) return Sessions.container();
+
+        String cookieName = initParam("session.cookie", "FSESSIONID");
+        try {
+            if (store.equals("mapped")) {
+                // Dossier explicite : un défaut dans le tmpdir partagé exposerait les sessions aux autres comptes
+                String dir = initParam("session.dir", null);
+                if (dir == null || dir.isBlank())
+                    throw new ServletException("session.store=mapped : init-param session.dir obligatoire");
+
+                // Classes désérialisables : session.serialFilter (motifs ObjectInputFilter) puis java.base
+                String pattern = initParam("session.serialFilter", "");
+                ObjectInputFilter filter = ObjectInputFilter.Config.createFilter(
+                        "maxdepth=20;maxrefs=10000;maxarray=100000;"
+                        + (pattern.isBlank() ? "" : pattern + ";") + "java.base/*;!*");
+
+                return new Sessions(new MappedSessionStore(Paths.get(dir), filter,
+                        Long.parseLong(initParam("session.ttl", "1800")) * 1000,
+                        Integer.parseInt(initParam("session.segmentSize", String.valueOf(64 << 20))),
+                        Integer.parseInt(initParam("session.maxSegments", "16"))), cookieName);
+            }
+
+            Class<?> type = Class.forName(store, true, Thread.currentThread().getContextClassLoader());
+            return new Sessions((SessionStore) type.getDeclaredConstructor().newInstance(), cookieName);
+        } catch (IOException | ReflectiveOperationException | ClassCastException | IllegalArgumentException e) {
+            throw new ServletException("session.store invalide : " + store, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (virtualExecutor != null) virtualExecutor.shutdown();
+        if (eventStreams != null) eventStreams.close();
+        if (batchExecutor != null) batchExecutor.shutdown();
+        if (sessions != null) sessions.close();
+        super.destroy();
+    }
+
+    /** Type écrit : T pour un CompletionStage<T> ou un résultat en flux (Stream<T>...), sinon le type de retour */
+    private static Class<?> resultType(Method method) {
+        Type type = method.getGenericReturnType();
+        if (CompletionStage.class.isAssignableFrom(method.getReturnType())) type = typeArgument(type);
+        if (type instanceof ParameterizedType pt && ResultStream.isStreamable((Class<?>) pt.getRawType()))
+            type = typeArgument(type);
+
+        if (type instanceof ParameterizedType pt) return (Class<?>) pt.getRawType();
+        return type instanceof Class<?> c ? c : Object.class;
+    }
+
+    private static Type typeArgument(Type type) {
+        return type instanceof ParameterizedType pt ? pt.getActualTypeArguments()[0] : Object.class;
+    }
+
+    /** Paramètre d'init du servlet, sinon du contexte, sinon la valeur par défaut */
+    private String initParam(String name, String defaultValue) {
+        String value = getInitParameter(name);
+        if (value == null) value = getServletContext().getInitParameter(name);
+        return value != null ? value : defaultValue;
     }
 
     @Override
@@ -28,10 +223,20 @@ public class FrontServlet extends HttpServlet {
             throws ServletException, IOException {
 
         String path = req.getRequestURI().substring(req.getContextPath().length());
-        boolean resourceExists = getServletContext().getResource(path) != null;
+        StaticResources.Resource resource = staticResources.lookup(path);
 
-        if (resourceExists) defaultServe(req, res);
-        else customServe(req, res);
+        if (resource != null) {
+            staticResources.serve(resource, req, res);
+            return;
+        }
+
+        HttpServletResponse out = compression != null ? compression.wrap(req, res) : res;
+        try {
+            customServe(req, out);
+        } finally {
+            // Fin du flux compressé ; en asynchrone, c'est complete() qui s'en charge
+            if (!req.isAsyncStarted()) Compression.finish(out);
+        }
     }
 
     private void customServe(HttpServletRequest req, HttpServletResponse res)
@@ -40,313 +245,386 @@ public class FrontServlet extends HttpServlet {
         prepareResponse(res);
 
         String url = extractUrl(req);
-        boolean found = false;
 
-        List<Class<?>> controllers =
-                AnnotationScanner.getAnnotatedClasses("com.test.controllers", Controller.class);
+        // 📊 Endpoint des métriques
+        if (url.equals(metricsPath)) {
+            serveMetrics(req, res);
+            return;
+        }
 
-        for (Class<?> clazz : controllers) {
+        // 📦 Lot d'appels routés
+        if (batch != null && url.equals(batch.path())) {
+            batch.serve(req, res);
+            return;
+        }
 
-            Method method = resolveMethod(clazz, req, url);
-            if (method == null) continue;
+        RouteMatch match = routes.resolve(req.getMethod(), url);
+        if (match == null) {
+            metrics.unmatched();
+            res.getWriter().println("<p>Aucune methode pour l URL : " + url + "</p>");
+            return;
+        }
 
-            found = true;
+        Route route = match.route();
+        if (!route.isCompressible()) Compression.bypass(res);
 
+        RouteMetrics routeMetrics = metrics.of(route);
+        Measure measure = new Measure(routeMetrics, routeMetrics.begin(), admission);
+        boolean failed = false;
+        Admission.Rejection rejection = null;
 
-            try {
-                // 🔐 CHECK AUTH
-                if (!checkAuthorization(method, req)) {
-                    res.setStatus(HttpServletResponse.SC_FORBIDDEN);
-                    res.getWriter().println("Accès refusé");
-                    return;
-                }
+        try {
+            // 🔐 CHECK AUTH
+            if (!authorization.check(route, req)) {
+                res.setStatus(HttpServletResponse.SC_FORBIDDEN);
+                res.getWriter().println("Accès refusé");
+                return;
+            }
 
-                ControllerResult cr = processControllerMethod(clazz, method, req, res, url);
-                handleReturn(cr, req, res, method);
+            // 🚦 Admission : refus immédiat si la route ou le serveur est saturé
+            rejection = admission.admit(route);
+            if (rejection != null) {
+                rejection.send(res);
+                return;
+            }
+            measure.admitted = true;
+            req.setAttribute(MEASURE, measure);
 
-            } catch (Exception e) {
-                e.printStackTrace(res.getWriter());
+            // 🧵 Thread virtuel : le thread du conteneur est rendu pendant l'exécution
+            if (virtualExecutor != null && (virtualByDefault || route.isVirtualThread()) && req.isAsyncSupported()) {
+                dispatchVirtual(match, req, res);
                 return;
             }
-        }
 
-        if (!found)
-            res.getWriter().println("<p>Aucune methode pour l URL : " + url + "</p>");
+            invokeRoute(match, req, res);
+
+        } catch (Exception e) {
+            failed = true;
+            if (!res.isCommitted()) res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            e.printStackTrace(res.getWriter());
+        } finally {
+            // Refus : hors latences ; requête asynchrone : mesurée (et libérée) quand elle se termine
+            if (rejection != null)
+                routeMetrics.rejected();
+            else if (req.isAsyncStarted())
+                req.getAsyncContext().addListener(measure);
+            else measure.end(failed || res.getStatus() >= 500);
+        }
     }
 
-    /* ---------------- METHODES SEPARÉES ---------------- */
-
-    private void prepareResponse(HttpServletResponse res) {
-        res.setContentType("text/html; charset=UTF-8");
-        res.setCharacterEncoding("UTF-8");
+    private void sendBindingErrors(Route route, BindingResult errors, HttpServletResponse res) throws IOException {
+        res.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+        if (route.isJson()) {
+            res.setContentType("application/json;charset=UTF-8");
+            jsonCodec.writeErrors(res.getWriter(), HttpServletResponse.SC_BAD_REQUEST, errors.getErrors());
+            return;
+        }
+        PrintWriter out = res.getWriter();
+        out.println("<p>Paramètres invalides :</p><ul>");
+        for (BindingResult.FieldError error : errors.getErrors())
+            out.println("<li>" + escapeHtml(error.field()) + " = \"" + escapeHtml(error.rejectedValue())
+                    + "\" (" + error.expectedType() + " attendu)</li>");
+        out.println("</ul>");
     }
 
-    private String extractUrl(HttpServletRequest req) {
-        String url = req.getPathInfo();
-        if (url == null)
-            url = req.getRequestURI().substring(req.getContextPath().length());
-        return url;
+    private static String escapeHtml(String s) {
+        return s.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
     }
 
-    private Method resolveMethod(Class<?> clazz, HttpServletRequest req, String url) {
+    /** Termine une requête asynchrone, après la fin du flux compressé */
+    private static void complete(AsyncContext async, HttpServletResponse res) {
+        try {
+            Compression.finish(res);
+        } catch (IOException ignored) {
+            // client déconnecté
+        }
+        async.complete();
+    }
 
-        Method m = AnnotationScanner.findMethodByUrl(clazz, URL.class, url);
+    /** Mesure d'une requête routée et permis d'admission ; terminée une seule fois (fin, ou remise à EventStreams) */
+    private static final class Measure implements AsyncListener {
 
-        if (m == null && req.getMethod().equalsIgnoreCase("GET"))
-            m = AnnotationScanner.findMethodByUrl(clazz, GetMapping.class, url);
+        private final RouteMetrics metrics;
+        private final long start;
+        private final Admission admission;
+        private final AtomicBoolean ended = new AtomicBoolean();
+        boolean admitted; // écrit avant toute remise à un autre thread
 
-        if (m == null && req.getMethod().equalsIgnoreCase("POST"))
-            m = AnnotationScanner.findMethodByUrl(clazz, PostMapping.class, url);
+        Measure(RouteMetrics metrics, long start, Admission admission) {
+            this.metrics = metrics;
+            this.start = start;
+            this.admission = admission;
+        }
 
-        return m;
-    }
+        /** Fin de la requête : sa durée pilote la limite adaptative */
+        void end(boolean error) {
+            if (!ended.compareAndSet(false, true)) return;
+            long nanos = metrics.end(start, error);
+            if (admitted) admission.release(metrics.route(), nanos);
+        }
 
-    private ControllerResult processControllerMethod(Class<?> clazz,
-                                                     Method method,
-                                                     HttpServletRequest req,
-                                                     HttpServletResponse res,
-                                                     String url) throws Exception {
+        /** Flux SSE confié à EventStreams : mesuré jusqu'à la remise, permis rendu sans échantillon de latence */
+        void handOver() {
+            if (!ended.compareAndSet(false, true)) return;
+            metrics.end(start, false);
+            if (admitted) admission.releaseUnsampled(metrics.route());
+        }
 
-        Object instance = clazz.getDeclaredConstructor().newInstance();
-        Object[] args = resolveMethodArguments(method, req, url);
-        Object result = method.invoke(instance, args);
+        @Override
+        public void onComplete(AsyncEvent event) {
+            HttpServletResponse res = (HttpServletResponse) event.getSuppliedResponse();
+            end(res != null && res.getStatus() >= 500);
+        }
 
-        return new ControllerResult(result, args);
+        @Override public void onTimeout(AsyncEvent event) {}
+        @Override public void onError(AsyncEvent event) {}
+        @Override public void onStartAsync(AsyncEvent event) {}
     }
 
+    /** Prometheus (texte) par défaut, JSON avec ?format=json ou Accept: application/json */
+    private void serveMetrics(HttpServletRequest req, HttpServletResponse res) throws IOException {
+        String accept = req.getHeader("Accept");
+        boolean json = "json".equals(req.getParameter("format"))
+                || (accept != null && accept.contains("application/json"));
 
+        if (json) {
+            res.setContentType("application/json;charset=UTF-8");
+            metrics.writeJson(res.getWriter());
+        } else {
+            res.setContentType("text/plain; version=0.0.4; charset=UTF-8");
+            metrics.writePrometheus(res.getWriter());
+        }
+    }
 
-    private boolean checkAuthorization(Method method, HttpServletRequest req) {
+    /**
+     * Binding, cache éventuel, appel du contrôleur et écriture de la réponse.
+     * Retourne true si la réponse est terminée ailleurs (dispatch asynchrone, CompletionStage).
+     */
+    private boolean invokeRoute(RouteMatch match, HttpServletRequest req, HttpServletResponse res)
+            throws Exception {
+
+        Route route = match.route();
+        RequestContext ctx = new RequestContext(req, res, match.pathVariables(), sessions);
+        Object[] args = route.getBindingPlan().bind(ctx);
+
+        // ❌ Valeurs invalides : 400, sauf si la méthode reçoit le BindingResult
+        if (ctx.hasBindingErrors() && !route.getBindingPlan().acceptsBindingResult()) {
+            sendBindingErrors(route, ctx.bindingResult(), res);
+            return false;
+        }
 
-        if (!method.isAnnotationPresent(Auth.class))
-            return true; // accès libre
+        try {
+            // 💾 Réponse en cache (GET + @Cacheable)
+            ResponseCache.Policy cachePolicy = route.getCachePolicy();
+            if (cachePolicy != null && "GET".equals(req.getMethod()))
+                return serveCached(route, cachePolicy, args, ctx, req, res);
+
+            ControllerResult cr = processControllerMethod(route, args, ctx);
+            return handleReturn(cr, req, res, route);
+
+        } catch (JsonBody.MalformedBodyException e) {
+            // Corps @Body invalide découvert pendant l'itération par le contrôleur
+            if (res.isCommitted()) throw e;
+            res.resetBuffer();
+            sendBindingErrors(route, e.errors(), res);
+            return false;
+        }
+    }
 
-        Auth auth = method.getAnnotation(Auth.class);
-        HttpSession session = req.getSession(false);
+    /**
+     * Exécute la route sur un thread virtuel, la requête passant en mode asynchrone.
+     * Le thread virtuel lit et écrit à travers GuardedRequest / GuardedResponse : au délai dépassé
+     * (ou client parti), requête et réponse lui sont retirées et la tâche interrompue, avant que
+     * le 503 ne soit écrit et la requête rendue au conteneur.
+     */
+    private void dispatchVirtual(RouteMatch match, HttpServletRequest req, HttpServletResponse res) {
+        AsyncContext async = req.startAsync(req, res);
+        async.setTimeout(asyncTimeout);
+
+        // Le premier arrivé (fin de la route, délai, erreur) termine la requête, une seule fois
+        AtomicBoolean done = new AtomicBoolean();
+        GuardedRequest guardedReq = new GuardedRequest(req);
+        GuardedResponse guarded = new GuardedResponse(res);
+        CompletableFuture<Future<?>> task = new CompletableFuture<>();
+
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (!done.compareAndSet(false, true)) return;
+                guardedReq.revoke();
+                task.thenAccept(f -> f.cancel(true));
+                // Écriture en cours terminée à temps : ce thread est seul à écrire ; sinon (client
+                // bloqué) ni 503 ni fin du flux compressé, la requête est seulement terminée
+                if (guarded.revoke(REVOKE_WAIT_MILLIS)) {
+                    sendAsyncError(res, new TimeoutException("Délai dépassé (" + asyncTimeout + " ms)"));
+                    complete(async, res);
+                } else {
+                    async.complete();
+                }
+            }
 
-        String authKey = getServletContext().getInitParameter("auth.session.key");
-        String roleKey = getServletContext().getInitParameter("role.session.key");
+            @Override
+            public void onError(AsyncEvent event) {
+                if (!done.compareAndSet(false, true)) return;
+                guardedReq.revoke();
+                task.thenAccept(f -> f.cancel(true));
+                if (guarded.revoke(REVOKE_WAIT_MILLIS)) complete(async, res);
+                else async.complete();
+            }
 
-        // Cas 2 et 3 : authentification requise
-        if (auth.authenticated()) {
-            if (session == null) return false;
+            @Override public void onComplete(AsyncEvent event) {}
+            @Override public void onStartAsync(AsyncEvent event) {}
+        });
 
-            Object isAuth = session.getAttribute(authKey);
-            if (!(isAuth instanceof Boolean) || !((Boolean) isAuth))
-                return false;
-        }
+        task.complete(virtualExecutor.submit(() -> {
+            boolean dispatched = false;
+            try {
+                dispatched = invokeRoute(match, guardedReq, guarded);
+            } catch (Exception e) {
+                try {
+                    sendAsyncError(guarded, e);
+                } catch (IOException ignored) {
+                    // client déconnecté, ou réponse reprise
+                }
+            }
+            if (done.compareAndSet(false, true) && !dispatched) complete(async, res);
+        }));
+    }
 
-        // Cas 3 : rôle requis
-        if (!auth.role().isEmpty()) {
-            Object role = session.getAttribute(roleKey);
-            if (role == null || !auth.role().equals(role.toString()))
-                return false;
-        }
+    /* ---------------- METHODES SEPARÉES ---------------- */
 
-        return true;
+    private void prepareResponse(HttpServletResponse res) {
+        res.setContentType("text/html; charset=UTF-8");
+        res.setCharacterEncoding("UTF-8");
     }
 
+    private String extractUrl(HttpServletRequest req) {
+        String url = req.getPathInfo();
+        if (url == null)
+            url = req.getRequestURI().substring(req.getContextPath().length());
+        return url;
+    }
 
+    private ControllerResult processControllerMethod(Route route, Object[] args, RequestContext ctx)
+            throws Exception {
 
-
-    private Object[] resolveMethodArguments(Method method, HttpServletRequest req, String url) throws Exception {
-        Parameter[] params = method.getParameters();
-        Object[] args = new Object[params.length];
-    
-        String pattern = getUrlPattern(method);
-        Map<String, String> pathVariables = extractPathVariables(pattern, url);
-    
-        boolean isMultipart = req.getContentType() != null &&
-                req.getContentType().toLowerCase().startsWith("multipart/");
-    
-        Map<String, Part> partsMap = new HashMap<>();
-        Map<String, byte[]> bytesMap = new HashMap<>();
-    
-        // ✅ Dossier uploads persistant dans le projet (pas le tmp de Tomcat)
-        File projectDir = new File(System.getProperty("user.dir"));
-        File uploadDir = new File(projectDir, "uploads");
-        if (!uploadDir.exists()) uploadDir.mkdirs();
-    
-        if (isMultipart) {
-            for (Part p : req.getParts()) {
-                String originalName = p.getSubmittedFileName();
-                if (originalName != null) {
-                    // Nettoyage du nom
-                    String cleanName = originalName.replaceAll("[^a-zA-Z0-9\\.\\-_]", "_");
-                    // Nom unique pour éviter les conflits
-                    String finalName = System.currentTimeMillis() + "_" + cleanName;
-                    File fileOnDisk = new File(uploadDir, finalName);
-                
-                    // ⚡ Sauvegarde physique du fichier
-                    try (InputStream is = p.getInputStream();
-                         OutputStream os = new FileOutputStream(fileOnDisk)) {
-                        byte[] buffer = new byte[8192];
-                        int len;
-                        while ((len = is.read(buffer)) > 0) {
-                            os.write(buffer, 0, len);
-                        }
-                    }
-                
-                    // Remplace Part par le fichier sur disque si nécessaire
-                    partsMap.put(p.getName(), p);
-                }
-            
-                // Stockage en mémoire (byte[]) pour Map<String, byte[]>
-                ByteArrayOutputStream baos = new ByteArrayOutputStream();
-                try (InputStream is = p.getInputStream()) {
-                    byte[] buffer = new byte[8192];
-                    int len;
-                    while ((len = is.read(buffer)) > 0) {
-                        baos.write(buffer, 0, len);
-                    }
-                }
-                bytesMap.put(p.getName(), baos.toByteArray());
-            }
-        }
-    
-        // Traitement des paramètres de la méthode
-        for (int i = 0; i < params.length; i++) {
-            Parameter p = params[i];
-            Class<?> type = p.getType();
-            Object value = null;
-        
-            if (Map.class.isAssignableFrom(type) && !isMultipart) {
-                value = buildMapParam(req);
-            } else if (type == Part.class && isMultipart) {
-                value = partsMap.get(p.getName());
-            } else if (type == Part[].class && isMultipart) {
-                List<Part> list = new ArrayList<>();
-                for (String key : partsMap.keySet()) {
-                    if (key.equals(p.getName()) || key.startsWith(p.getName() + "[")) {
-                        list.add(partsMap.get(key));
-                    }
-                }
-                value = list.toArray(new Part[0]);
-            } else if (type == Map.class && isMultipart) {
-                value = bytesMap;
-            } else if (pathVariables.containsKey(p.getName())) {
-                value = convert(pathVariables.get(p.getName()), type);
-            } else if (p.isAnnotationPresent(RequestParam.class)) {
-                value = convert(req.getParameter(p.getAnnotation(RequestParam.class).value()), type);
-            } else if (type.isArray()) {
-                Class<?> componentType = type.getComponentType();
-                int maxIndex = detectMaxIndex(p.getName(), req.getParameterMap());
-                Object array = Array.newInstance(componentType, maxIndex + 1);
-                for (int j = 0; j <= maxIndex; j++) {
-                    String prefix = p.getName() + "[" + j + "]";
-                    Object element = DataBinder.bindComplexObject(componentType, prefix, req.getParameterMap());
-                    Array.set(array, j, element);
-                }
-                value = array;
-            } // ================= SESSION =================
-            else if (type == FrameworkSession.class) {
-                HttpSession httpSession = req.getSession(true);
-                value = new FrameworkSession(httpSession);
-            } else if (isComplexObject(type)) {
-                value = DataBinder.bindComplexObject(type, p.getName(), req.getParameterMap());
-            } else {
-                String param = req.getParameter(p.getName());
-                if (param != null) value = convert(param, type);
-            }
-        
-            if (value == null) value = defaultValue(type);
-            args[i] = value;
+        Object instance = route.getInvoker().newController();
+        Object result;
+        try {
+            result = route.getInvoker().invoke(instance, args);
+        } finally {
+            // Session écrite une fois, avant le rendu : la vue voit les modifications
+            ctx.flushSession();
         }
-    
-        return args;
-    }
 
+        // Résultat différé : modifications faites pendant le calcul écrites à sa fin
+        if (result instanceof CompletionStage<?> stage) result = stage.whenComplete((value, error) -> ctx.flushSession());
 
+        return new ControllerResult(result, args);
+    }
 
+    /**
+     * Sert la réponse depuis le cache, ou appelle le contrôleur et met le résultat en cache.
+     * If-None-Match égal à l'ETag → 304 sans corps.
+     */
+    private boolean serveCached(Route route, ResponseCache.Policy policy, Object[] args, RequestContext ctx,
+                             HttpServletRequest req, HttpServletResponse res) throws Exception {
 
+        String key = policy.key(route, args, policy.perRole ? authorization.roleKey(req) : null);
+        ResponseCache.Entry entry = responseCache.get(key);
 
+        if (entry == null) {
+            ControllerResult cr = processControllerMethod(route, args, ctx);
+            byte[] body = renderToBytes(cr, route);
 
+            // Vue JSP : rien à mettre en cache, rendu normal
+            if (body == null) return handleReturn(cr, req, res, route);
 
-    /** Détecte le plus grand index présent dans paramMap pour un tableau donné */
-    private int detectMaxIndex(String paramName, Map<String, String[]> paramMap) {
-        int max = -1;
-        for (String key : paramMap.keySet()) {
-            if (key.startsWith(paramName + "[")) {
-                int i1 = key.indexOf("[") + 1;
-                int i2 = key.indexOf("]");
-                int idx = Integer.parseInt(key.substring(i1, i2));
-                if (idx > max) max = idx;
-            }
+            String contentType = route.isJson() ? "application/json;charset=UTF-8" : "text/html; charset=UTF-8";
+            entry = responseCache.put(key, body, contentType, policy.ttlNanos);
         }
-        return max;
-    }
 
+        res.setHeader("ETag", entry.etag());
 
-    private boolean isComplexObject(Class<?> type) {
-        return !type.isPrimitive()
-                && type != String.class
-                && !Number.class.isAssignableFrom(type)
-                && !Map.class.isAssignableFrom(type);
-    }
+        // L'ETag renvoyé peut porter le suffixe de la représentation compressée ("...-gzip\"")
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null && Arrays.stream(ifNoneMatch.split("\\s*,\\s*"))
+                .map(Compression::baseEtag).anyMatch(entry.etag()::equals)) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return false;
+        }
 
-    private Map<String, Object> buildMapParam(HttpServletRequest req) {
-        Map<String, Object> map = new HashMap<>();
-        req.getParameterMap().forEach((k, v) -> map.put(k, v.length == 1 ? v[0] : v));
-        return map;
+        res.setContentType(entry.contentType());
+        res.setContentLength(entry.body().length);
+        res.getOutputStream().write(entry.body());
+        return false;
     }
 
-    private String getUrlPattern(Method method) {
-        if (method.isAnnotationPresent(URL.class)) return method.getAnnotation(URL.class).url();
-        if (method.isAnnotationPresent(GetMapping.class)) return method.getAnnotation(GetMapping.class).value();
-        if (method.isAnnotationPresent(PostMapping.class)) return method.getAnnotation(PostMapping.class).value();
-        return "";
+    /** Corps de la réponse en octets (JSON ou String), null si le résultat n'est pas mis en cache */
+    private byte[] renderToBytes(ControllerResult cr, Route route) throws IOException {
+        if (cr.returnValue() instanceof CompletionStage<?> || cr.returnValue() instanceof Flow.Publisher<?>
+                || ResultStream.isStreamable(cr.returnValue())) return null;
+        if (route.isJson()) {
+            StringWriter out = new StringWriter();
+            jsonCodec.writeEnvelope(out, route.getParameterNames(), cr.args(), cr.returnValue());
+            return out.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        if (cr.returnValue() instanceof String s) return s.getBytes(StandardCharsets.UTF_8);
+        if (cr.returnValue() instanceof ModelView mv && templates.handles(mv.getView())) return templates.renderToBytes(mv);
+        return null;
     }
 
-    private void handleReturn(ControllerResult cr,
-                              HttpServletRequest req,
-                              HttpServletResponse res,
-                              Method method)
+    /** Écrit la réponse ; retourne true si elle est terminée ailleurs (CompletionStage, SSE, dispatch asynchrone) */
+    private boolean handleReturn(ControllerResult cr,
+                                 HttpServletRequest req,
+                                 HttpServletResponse res,
+                                 Route route)
             throws IOException, ServletException {
 
         Object result = cr.returnValue();
         Object[] args = cr.args();
 
-        /* ================= JSON ================= */
-        if (method.isAnnotationPresent(Json.class)) {
-
-            res.setContentType("application/json;charset=UTF-8");
-            res.setCharacterEncoding("UTF-8");
-
-            Map<String, Object> response = new LinkedHashMap<>();
-            response.put("status", "success");
-            response.put("code", 200);
-
-            /* ===== arguments ===== */
-            Parameter[] params = method.getParameters();
-            Map<String, Object> argsMap = new LinkedHashMap<>();
+        /* ================= ASYNCHRONE ================= */
+        if (result instanceof CompletionStage<?> stage) {
+            if (req.isAsyncSupported() && !req.isAsyncStarted()) {
+                handleAsync(stage, args, req, res, route);
+                return true;
+            }
 
-            for (int i = 0; i < params.length; i++) {
-                argsMap.put(params[i].getName(), args[i]);
+            // Déjà asynchrone (thread virtuel) ou pas de support : on attend le résultat sur place
+            try {
+                result = stage.toCompletableFuture().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ServletException(e);
+            } catch (ExecutionException e) {
+                sendAsyncError(res, e.getCause());
+                return false;
             }
+        }
 
-            response.put("args", argsMap);
+        /* ================= SERVER-SENT EVENTS ================= */
+        if (result instanceof Flow.Publisher<?> publisher) {
+            eventStreams.serve(publisher, req, res);
+            // Connexion longue : ni permis d'admission gardé, ni durée dans les latences
+            if (req.getAttribute(MEASURE) instanceof Measure measure) measure.handOver();
+            return true; // terminée à la fin du flux ou au départ du client
+        }
 
-            /* ===== data ===== */
-            Object data;
+        /* ================= FLUX ================= */
+        if (ResultStream.isStreamable(result)) {
+            resultStream.write(result, req, res, route, args);
+            return false;
+        }
 
-            if (result instanceof ModelView mv) {
-                data = mv.getData();
-            }
-            else if (result instanceof List<?> list) {
-                Map<String, Object> listData = new LinkedHashMap<>();
-                listData.put("count", list.size());
-                listData.put("result", list);
-                data = listData;
-            }
-            else {
-                data = result;
-            }
+        /* ================= JSON ================= */
+        if (route.isJson()) {
 
-            response.put("data", data);
+            res.setContentType("application/json;charset=UTF-8");
+            res.setCharacterEncoding("UTF-8");
 
-            Gson gson = new GsonBuilder().serializeNulls().create();
-            res.getWriter().print(gson.toJson(response));
-            return;
+            jsonCodec.writeEnvelope(res.getWriter(), route.getParameterNames(), args, result);
+            return false;
         }
 
         /* ================= JSP / NORMAL ================= */
@@ -354,54 +632,91 @@ public class FrontServlet extends HttpServlet {
             res.getWriter().print(result);
         }
         else if (result instanceof ModelView mv) {
+            // Gabarit intégré : rendu direct, même en asynchrone
+            if (templates.handles(mv.getView())) {
+                templates.render(mv, res);
+                return false;
+            }
+
             mv.getData().forEach(req::setAttribute);
+
+            // En mode asynchrone, le forward devient un dispatch, qui termine la requête
+            if (req.isAsyncStarted()) {
+                Compression.bypass(res); // la vue termine la requête : pas de fin de flux compressé possible
+                req.getAsyncContext().dispatch("/views/" + mv.getView());
+                return true;
+            }
             req.getRequestDispatcher("/views/" + mv.getView()).forward(req, res);
         }
         else {
             res.getWriter().println("Type de retour non supporté : " + result);
         }
+        return false;
     }
 
+    /**
+     * Résultat différé : le thread du conteneur est libéré, la réponse est écrite
+     * quand le CompletionStage se termine (503 si le délai async.timeout est dépassé, 500 en cas d'erreur).
+     */
+    private void handleAsync(CompletionStage<?> stage, Object[] args,
+                             HttpServletRequest req, HttpServletResponse res, Route route) {
+
+        AsyncContext async = req.startAsync(req, res);
+        async.setTimeout(asyncTimeout);
+
+        // Le premier arrivé (résultat, délai, erreur) écrit la réponse
+        AtomicBoolean done = new AtomicBoolean();
+
+        async.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) throws IOException {
+                if (!done.compareAndSet(false, true)) return;
+                stage.toCompletableFuture().cancel(false);
+                sendAsyncError(res, new TimeoutException("Délai dépassé (" + asyncTimeout + " ms)"));
+                complete(async, res);
+            }
 
+            @Override
+            public void onError(AsyncEvent event) {
+                // Client parti : le résultat éventuel sera ignoré
+                done.set(true);
+                complete(async, res);
+            }
 
+            @Override public void onComplete(AsyncEvent event) {}
+            @Override public void onStartAsync(AsyncEvent event) {}
+        });
 
-    private void defaultServe(HttpServletRequest req, HttpServletResponse res)
-            throws ServletException, IOException {
-        defaultDispatcher.forward(req, res);
-    }
-
-    private Object convert(String raw, Class<?> type) {
-        try {
-            if (type == String.class) return raw;
-            if (type == int.class || type == Integer.class) return Integer.parseInt(raw);
-            if (type == double.class || type == Double.class) return Double.parseDouble(raw);
-            if (type == float.class || type == Float.class) return Float.parseFloat(raw);
-            if (type == boolean.class || type == Boolean.class) return Boolean.parseBoolean(raw);
-        } catch (Exception e) {}
-        return null;
-    }
-
-    private Object defaultValue(Class<?> t) {
-        if (t == int.class) return 0;
-        if (t == double.class) return 0.0;
-        if (t == float.class) return 0f;
-        if (t == boolean.class) return false;
-        return null;
+        stage.whenComplete((value, error) -> {
+            if (!done.compareAndSet(false, true)) return;
+            try {
+                if (error != null) sendAsyncError(res, error);
+                else if (handleReturn(new ControllerResult(value, args), req, res, route)) return; // vue dispatchée
+            } catch (Exception e) {
+                try {
+                    sendAsyncError(res, e);
+                } catch (IOException ignored) {
+                    // réponse déjà partie ou client déconnecté
+                }
+            }
+            complete(async, res);
+        });
     }
 
-    private Map<String, String> extractPathVariables(String pattern, String url) {
-        Map<String, String> vars = new HashMap<>();
-        String regex = pattern.replaceAll("\\{[^/]+\\}", "([^/]+)");
+    /** Échec d'un résultat asynchrone : 503 pour un délai / une annulation, 500 sinon */
+    private static void sendAsyncError(HttpServletResponse res, Throwable error) throws IOException {
+        while (error instanceof CompletionException && error.getCause() != null) error = error.getCause();
 
-        Pattern p = Pattern.compile(regex);
-        Matcher m = p.matcher(url);
+        if (res.isCommitted()) return;
+        res.resetBuffer();
+        res.setContentType("text/html; charset=UTF-8");
 
-        if (m.matches()) {
-            Matcher mNames = Pattern.compile("\\{([^/]+)\\}").matcher(pattern);
-            int i = 1;
-            while (mNames.find()) vars.put(mNames.group(1), m.group(i++));
-        }
+        boolean unavailable = error instanceof TimeoutException || error instanceof CancellationException;
+        res.setStatus(unavailable
+                ? HttpServletResponse.SC_SERVICE_UNAVAILABLE
+                : HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
 
-        return vars;
+        if (unavailable) res.getWriter().println(error.getMessage() != null ? error.getMessage() : "Service indisponible");
+        else error.printStackTrace(res.getWriter());
     }
 }
@@ -0,0 +1,58 @@
+package com.framework.core;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+/**
+ * Requête confiée à un thread virtuel, pendant de {@link GuardedResponse} : après revoke(),
+ * la requête du conteneur (recyclée pour une autre connexion) n'est plus joignable, et tout
+ * appel lève IllegalStateException, même depuis un contrôleur qui ignore l'interruption.
+ *
+ * Les wrappers du servlet délèguent par un champ, sans méthode à surcharger : la référence
+ * révocable est donc placée sous le wrapper, dans un proxy.
+ */
+final class GuardedRequest extends HttpServletRequestWrapper {
+
+    private final Target target;
+
+    GuardedRequest(HttpServletRequest req) {
+        this(new Target(req));
+    }
+
+    private GuardedRequest(Target target) {
+        super((HttpServletRequest) Proxy.newProxyInstance(GuardedRequest.class.getClassLoader(),
+                new Class<?>[] {HttpServletRequest.class}, target));
+        this.target = target;
+    }
+
+    /** Retire la requête : ne bloque pas */
+    void revoke() {
+        target.request = null;
+    }
+
+    private static final class Target implements InvocationHandler {
+
+        volatile HttpServletRequest request;
+
+        Target(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) return method.invoke(this, args);
+            HttpServletRequest req = request;
+            if (req == null) throw new IllegalStateException("Requête reprise par le conteneur (délai dépassé ou client parti)");
+            try {
+                return method.invoke(req, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
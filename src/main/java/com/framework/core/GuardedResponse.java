@@ -0,0 +1,199 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+
+/**
+ * Réponse confiée à un thread qui n'en est pas propriétaire (thread virtuel) : chaque écriture
+ * se fait sous un ReentrantLock (qui, contrairement à synchronized, ne bloque pas le thread
+ * porteur pendant une écriture lente), et revoke() la retire définitivement à ce thread.
+ *
+ * Après revoke(), plus rien n'atteint la réponse (ni le Deflater de la compression) :
+ * les écritures échouent en IOException, les modifications d'en-têtes sont ignorées.
+ * Si l'écriture en cours se termine dans le délai de revoke(), le thread qui a révoqué est
+ * alors seul à écrire ; sinon il ne doit plus toucher la réponse, seulement terminer la requête.
+ */
+final class GuardedResponse extends HttpServletResponseWrapper {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile boolean revoked;
+    private ServletOutputStream stream; // sous le verrou
+    private PrintWriter writer;         // sous le verrou
+
+    GuardedResponse(HttpServletResponse res) {
+        super(res);
+    }
+
+    /**
+     * Retire la réponse sans attendre ; puis attend au plus waitMillis la fin de l'écriture en cours.
+     * Retourne false si elle est bloquée (client lent) : la réponse n'est alors pas sûre à écrire.
+     */
+    boolean revoke(long waitMillis) {
+        revoked = true;
+        try {
+            if (!lock.tryLock(waitMillis, TimeUnit.MILLISECONDS)) return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        lock.unlock(); // toute écriture suivante voit revoked
+        return true;
+    }
+
+    @FunctionalInterface
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private void write(Write action) throws IOException {
+        try {
+            lock.lockInterruptibly();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Écriture interrompue");
+        }
+        try {
+            if (revoked) throw new IOException("Réponse reprise par le conteneur (délai dépassé ou client parti)");
+            action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void update(Runnable action) {
+        lock.lock();
+        try {
+            if (!revoked) action.run();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /* ---- Corps ---- */
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        lock.lock();
+        try {
+            return outputStream();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ServletOutputStream outputStream() throws IOException {
+        if (stream == null) {
+            ServletOutputStream out = super.getOutputStream();
+            stream = new ServletOutputStream() {
+                @Override public void write(int b) throws IOException { GuardedResponse.this.write(() -> out.write(b)); }
+                @Override public void write(byte[] b, int off, int len) throws IOException { GuardedResponse.this.write(() -> out.write(b, off, len)); }
+                @Override public void flush() throws IOException { GuardedResponse.this.write(out::flush); }
+                @Override public void close() throws IOException { GuardedResponse.this.write(out::close); }
+                @Override public boolean isReady() { return out.isReady(); }
+                @Override public void setWriteListener(WriteListener listener) { out.setWriteListener(listener); }
+            };
+        }
+        return stream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        lock.lock();
+        try {
+            return printWriter();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Aucun tampon ajouté : le Writer du conteneur (ou de la compression) reste seul à en avoir un
+    private PrintWriter printWriter() throws IOException {
+        if (writer == null) writer = new GuardedWriter(super.getWriter());
+        return writer;
+    }
+
+    /**
+     * PrintWriter sans synchronized : ceux de PrintWriter (write, println, format) entoureraient
+     * l'écriture bloquante et bloqueraient le thread porteur. Une écriture refusée lève le drapeau
+     * d'erreur (checkError), comme tout PrintWriter.
+     */
+    private final class GuardedWriter extends PrintWriter {
+
+        private final PrintWriter target;
+
+        GuardedWriter(PrintWriter target) {
+            super(Writer.nullWriter());
+            this.target = target;
+        }
+
+        private void guarded(Write action) {
+            try {
+                GuardedResponse.this.write(action);
+            } catch (InterruptedIOException e) {
+                Thread.currentThread().interrupt();
+                setError();
+            } catch (IOException e) {
+                setError();
+            }
+        }
+
+        @Override public void write(int c) { guarded(() -> target.write(c)); }
+        @Override public void write(char[] buf, int off, int len) { guarded(() -> target.write(buf, off, len)); }
+        @Override public void write(char[] buf) { write(buf, 0, buf.length); }
+        @Override public void write(String str, int off, int len) { guarded(() -> target.write(str, off, len)); }
+        @Override public void write(String str) { write(str, 0, str.length()); }
+
+        @Override public void println() { write(System.lineSeparator()); }
+        @Override public void println(boolean x) { print(x); println(); }
+        @Override public void println(char x) { print(x); println(); }
+        @Override public void println(int x) { print(x); println(); }
+        @Override public void println(long x) { print(x); println(); }
+        @Override public void println(float x) { print(x); println(); }
+        @Override public void println(double x) { print(x); println(); }
+        @Override public void println(char[] x) { print(x); println(); }
+        @Override public void println(String x) { print(x); println(); }
+        @Override public void println(Object x) { print(String.valueOf(x)); println(); }
+
+        @Override public PrintWriter format(String format, Object... args) { write(String.format(format, args)); return this; }
+        @Override public PrintWriter format(Locale l, String format, Object... args) { write(String.format(l, format, args)); return this; }
+
+        @Override public void flush() { guarded(target::flush); }
+        @Override public void close() { guarded(target::close); }
+        @Override public boolean checkError() { return super.checkError() || target.checkError(); }
+    }
+
+    @Override public void flushBuffer() throws IOException { write(super::flushBuffer); }
+    @Override public void sendError(int sc, String msg) throws IOException { write(() -> super.sendError(sc, msg)); }
+    @Override public void sendError(int sc) throws IOException { write(() -> super.sendError(sc)); }
+    @Override public void sendRedirect(String location) throws IOException { write(() -> super.sendRedirect(location)); }
+
+    @Override public void resetBuffer() { update(super::resetBuffer); }
+    @Override public void reset() { update(super::reset); }
+
+    /* ---- En-têtes ---- */
+
+    @Override public void setStatus(int sc) { update(() -> super.setStatus(sc)); }
+    @Override public void setHeader(String name, String value) { update(() -> super.setHeader(name, value)); }
+    @Override public void addHeader(String name, String value) { update(() -> super.addHeader(name, value)); }
+    @Override public void setIntHeader(String name, int value) { update(() -> super.setIntHeader(name, value)); }
+    @Override public void addIntHeader(String name, int value) { update(() -> super.addIntHeader(name, value)); }
+    @Override public void setDateHeader(String name, long date) { update(() -> super.setDateHeader(name, date)); }
+    @Override public void addDateHeader(String name, long date) { update(() -> super.addDateHeader(name, date)); }
+    @Override public void addCookie(Cookie cookie) { update(() -> super.addCookie(cookie)); }
+    @Override public void setContentType(String type) { update(() -> super.setContentType(type)); }
+    @Override public void setCharacterEncoding(String charset) { update(() -> super.setCharacterEncoding(charset)); }
+    @Override public void setContentLength(int len) { update(() -> super.setContentLength(len)); }
+    @Override public void setContentLengthLong(long len) { update(() -> super.setContentLengthLong(len)); }
+    @Override public void setBufferSize(int size) { update(() -> super.setBufferSize(size)); }
+}
@@ -0,0 +1,266 @@
+package com.framework.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.MalformedJsonException;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Paramètres @Body : le corps JSON est lu depuis le flux d'entrée par un JsonReader,
+ * sans String intermédiaire.
+ *
+ * Iterator&lt;T&gt; / Stream&lt;T&gt; : le tableau est lu élément par élément, à mesure que le
+ * contrôleur consomme ; la mémoire ne dépend pas du nombre d'éléments.
+ * Un corps invalide devient une erreur de binding (champ = paramètre + chemin JSON).
+ */
+final class JsonBody {
+
+    private JsonBody() {}
+
+    /**
+     * Corps invalide découvert pendant l'itération, donc après le binding :
+     * réponse 400 si rien n'a encore été envoyé.
+     */
+    static final class MalformedBodyException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private final String field;
+        private final String expectedType;
+
+        MalformedBodyException(String field, String detail, String expectedType, Throwable cause) {
+            super(detail, cause);
+            this.field = field;
+            this.expectedType = expectedType;
+        }
+
+        BindingResult errors() {
+            BindingResult errors = new BindingResult();
+            errors.reject(field, getMessage(), expectedType);
+            return errors;
+        }
+    }
+
+    static BindingPlan.ArgumentResolver resolver(Parameter p) {
+        Class<?> type = p.getType();
+        String name = p.getName();
+
+        // ================= FLUX D'ÉLÉMENTS =================
+        if (type == Iterator.class || type == Stream.class) {
+            TypeToken<?> element = TypeToken.get(elementType(p));
+            TypeAdapter<?> adapter = JsonCodec.gson().getAdapter(element);
+            String expectedType = element.getRawType().getSimpleName();
+            boolean stream = type == Stream.class;
+
+            return ctx -> {
+                JsonReader reader = open(ctx, name, expectedType);
+                if (reader == null) return stream ? Stream.empty() : Collections.emptyIterator();
+
+                // Hors tableau, le lecteur n'est pas confié à Elements : fermé ici
+                boolean handedOver = false;
+                try {
+                    JsonToken first = reader.peek();
+                    if (first == JsonToken.NULL) return stream ? Stream.empty() : Collections.emptyIterator();
+                    if (first != JsonToken.BEGIN_ARRAY) {
+                        ctx.bindingResult().reject(name, "JSON " + first, expectedType + "[]");
+                        return null;
+                    }
+                    Elements<?> elements = new Elements<>(reader, adapter, name, expectedType);
+                    handedOver = true;
+                    return stream ? elements.stream() : elements;
+                } finally {
+                    if (!handedOver) reader.close();
+                }
+            };
+        }
+
+        // ================= VALEUR =================
+        TypeAdapter<?> adapter = JsonCodec.gson().getAdapter(TypeToken.get(p.getParameterizedType()));
+        String expectedType = type.getSimpleName();
+
+        return ctx -> {
+            JsonReader reader = open(ctx, name, expectedType);
+            if (reader == null) return null;
+            try {
+                Object value = adapter.read(reader);
+                if (reader.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Contenu après la valeur JSON");
+                return value;
+            } catch (IOException | RuntimeException e) {
+                if (!isMalformed(e)) throw e;
+                ctx.bindingResult().reject(field(name, reader), detail(e), expectedType); // chemin lu avant la fermeture
+                return null;
+            } finally {
+                reader.close();
+            }
+        };
+    }
+
+    /**
+     * Lecteur positionné sur la première valeur, ou null : corps vide (paramètre absent),
+     * type de contenu autre que JSON ou début invalide (erreur enregistrée).
+     */
+    private static JsonReader open(RequestContext ctx, String name, String expectedType) throws IOException {
+        HttpServletRequest req = ctx.request();
+        String contentType = req.getContentType();
+        if (contentType != null && !isJson(contentType)) {
+            ctx.bindingResult().reject(name, contentType, "application/json");
+            return null;
+        }
+        if (req.getContentLengthLong() == 0) return null;
+
+        Charset charset = StandardCharsets.UTF_8; // encodage de JSON (RFC 8259) si rien n'est précisé
+        String encoding = req.getCharacterEncoding();
+        if (encoding != null) {
+            try {
+                charset = Charset.forName(encoding);
+            } catch (IllegalArgumentException e) {
+                ctx.bindingResult().reject(name, encoding, "charset");
+                return null;
+            }
+        }
+
+        JsonReader reader = JsonCodec.gson().newJsonReader(new InputStreamReader(req.getInputStream(), charset));
+        try {
+            reader.peek();
+            return reader;
+        } catch (EOFException e) {
+            reader.close();
+            return null; // corps vide, transfert sans Content-Length
+        } catch (MalformedJsonException e) {
+            ctx.bindingResult().reject(name, detail(e), expectedType);
+            reader.close();
+            return null;
+        }
+    }
+
+    /** application/json, ou tout type structuré en +json (application/problem+json...) */
+    private static boolean isJson(String contentType) {
+        int semicolon = contentType.indexOf(';');
+        String mime = (semicolon < 0 ? contentType : contentType.substring(0, semicolon)).trim().toLowerCase(Locale.ROOT);
+        return mime.equals("application/json") || mime.endsWith("+json");
+    }
+
+    /** T de Iterator&lt;T&gt; / Stream&lt;T&gt;, connu au démarrage */
+    private static Type elementType(Parameter p) {
+        if (p.getParameterizedType() instanceof ParameterizedType parameterized) {
+            Type element = parameterized.getActualTypeArguments()[0];
+            if (element instanceof WildcardType wildcard) element = wildcard.getUpperBounds()[0];
+            if (element instanceof Class<?> || element instanceof ParameterizedType || element instanceof GenericArrayType)
+                return element;
+        }
+        throw new IllegalStateException("@Body " + p.getType().getSimpleName() + " sans type d'élément concret : "
+                + p.getDeclaringExecutable().getDeclaringClass().getName() + "."
+                + p.getDeclaringExecutable().getName() + "(" + p.getName() + ")");
+    }
+
+    /** Erreur de contenu (et non d'entrée / sortie) : syntaxe, type inattendu, corps tronqué */
+    private static boolean isMalformed(Exception e) {
+        if (e instanceof JsonIOException) return false;
+        return e instanceof JsonParseException
+                || e instanceof IllegalStateException
+                || e instanceof NumberFormatException
+                || e instanceof MalformedJsonException
+                || e instanceof EOFException;
+    }
+
+    /** "user" + "$.address.zip" → "user.address.zip" */
+    private static String field(String name, JsonReader reader) {
+        return name + reader.getPath().substring(1);
+    }
+
+    /** Message de la cause première (Gson enveloppe NumberFormatException, IllegalStateException...) */
+    private static String detail(Throwable e) {
+        while (e.getCause() != null && e.getCause() != e) e = e.getCause();
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /* ---------------- ITÉRATION ---------------- */
+
+    /** Éléments d'un tableau JSON, lus un à un ; le flux est fermé à la fin du tableau */
+    private static final class Elements<T> implements Iterator<T> {
+
+        private final JsonReader reader;
+        private final TypeAdapter<T> adapter;
+        private final String name;
+        private final String expectedType;
+        private boolean open = true;
+
+        Elements(JsonReader reader, TypeAdapter<T> adapter, String name, String expectedType) throws IOException {
+            this.reader = reader;
+            this.adapter = adapter;
+            this.name = name;
+            this.expectedType = expectedType;
+            reader.beginArray();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (!open) return false;
+            try {
+                if (reader.hasNext()) return true;
+                reader.endArray();
+                if (reader.peek() != JsonToken.END_DOCUMENT) throw new MalformedJsonException("Contenu après le tableau JSON");
+                close();
+                return false;
+            } catch (IOException | RuntimeException e) {
+                throw failure(e);
+            }
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            try {
+                return adapter.read(reader);
+            } catch (IOException | RuntimeException e) {
+                throw failure(e);
+            }
+        }
+
+        Stream<T> stream() {
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+                    .onClose(this::close);
+        }
+
+        private void close() {
+            open = false;
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // flux de la requête, fermé de toute façon par le conteneur
+            }
+        }
+
+        private RuntimeException failure(Exception e) {
+            String field = field(name, reader);
+            close();
+            if (isMalformed(e)) return new MalformedBodyException(field, detail(e), expectedType, e);
+            return e instanceof IOException io ? new UncheckedIOException(io) : (RuntimeException) e;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.BaseStream;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonWriter;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Part;
+
+/**
+ * Écriture JSON des réponses @Json directement dans le flux de la réponse.
+ *
+ * Un seul Gson pour toute l'application, adaptateurs mis en cache par type ;
+ * l'enveloppe { status, code, args, data } est écrite champ par champ, sans Map intermédiaire
+ * ni String complète en mémoire.
+ */
+public final class JsonCodec {
+
+    // Gson est thread-safe : partagé par toutes les requêtes
+    private static final Gson GSON = new GsonBuilder().serializeNulls().create();
+
+    private static final ClassValue<TypeAdapter<Object>> ADAPTERS = new ClassValue<>() {
+        @Override
+        @SuppressWarnings("unchecked")
+        protected TypeAdapter<Object> computeValue(Class<?> type) {
+            return (TypeAdapter<Object>) GSON.getAdapter(type);
+        }
+    };
+
+    private final boolean includeArgs;
+
+    /**
+     * @param includeArgs recopier les arguments de la méthode dans "args" (comportement historique) ;
+     *                    les objets techniques (Part, session, flux...) n'y sont jamais écrits
+     */
+    public JsonCodec(boolean includeArgs) {
+        this.includeArgs = includeArgs;
+    }
+
+    public static Gson gson() {
+        return GSON;
+    }
+
+    /** Prépare l'adaptateur d'un type au démarrage (évite le coût au premier appel) */
+    public static void warm(Class<?> type) {
+        if (type == void.class || type.isPrimitive() || type.isInterface() || type == Object.class) return;
+        try {
+            ADAPTERS.get(type);
+        } catch (RuntimeException e) {
+            // Type non sérialisable tel quel : l'erreur surviendra (ou non) à l'exécution, comme avant
+        }
+    }
+
+    /** Écrit l'enveloppe complète de la réponse */
+    public void writeEnvelope(Writer out, String[] names, Object[] args, Object result) throws IOException {
+        JsonWriter w = openEnvelope(out, names, args);
+
+        if (result instanceof ModelView mv) {
+            write(w, mv.getData());
+        }
+        else if (result instanceof List<?> list) {
+            w.beginObject();
+            w.name("count").value(list.size());
+            w.name("result");
+            write(w, list);
+            w.endObject();
+        }
+        else {
+            write(w, result);
+        }
+
+        w.endObject();
+        w.flush();
+    }
+
+    /**
+     * Début de l'enveloppe, jusqu'à "data" inclus : l'appelant écrit la valeur
+     * (un tableau en flux, par exemple) puis ferme l'objet.
+     */
+    JsonWriter openEnvelope(Writer out, String[] names, Object[] args) throws IOException {
+        JsonWriter w = GSON.newJsonWriter(out);
+
+        w.beginObject();
+        w.name("status").value("success");
+        w.name("code").value(200);
+
+        /* ===== arguments ===== */
+        if (includeArgs) {
+            w.name("args").beginObject();
+            for (int i = 0; i < names.length; i++) {
+                if (isTechnical(args[i])) continue;
+                w.name(names[i]);
+                write(w, args[i]);
+            }
+            w.endObject();
+        }
+
+        /* ===== data ===== */
+        w.name("data");
+        return w;
+    }
+
+    /** Enveloppe d'erreur : { status: "error", code, errors: [{ field, rejectedValue, expectedType }] } */
+    public void writeErrors(Writer out, int code, List<BindingResult.FieldError> errors) throws IOException {
+        JsonWriter w = GSON.newJsonWriter(out);
+
+        w.beginObject();
+        w.name("status").value("error");
+        w.name("code").value(code);
+        w.name("errors").beginArray();
+        for (BindingResult.FieldError error : errors) {
+            w.beginObject();
+            w.name("field").value(error.field());
+            w.name("rejectedValue").value(error.rejectedValue());
+            w.name("expectedType").value(error.expectedType());
+            w.endObject();
+        }
+        w.endArray();
+        w.endObject();
+        w.flush();
+    }
+
+    /** Écrit une valeur avec l'adaptateur de son type réel */
+    public void write(JsonWriter w, Object value) throws IOException {
+        if (value == null) {
+            w.nullValue();
+            return;
+        }
+        ADAPTERS.get(value.getClass()).write(w, value);
+    }
+
+    private static boolean isTechnical(Object arg) {
+        return arg instanceof Part
+                || arg instanceof Part[]
+                || arg instanceof FrameworkSession
+                || arg instanceof BindingResult
+                || arg instanceof InputStream
+                || arg instanceof Iterator<?>
+                || arg instanceof BaseStream<?, ?>
+                || arg instanceof Path
+                || arg instanceof ServletRequest
+                || arg instanceof ServletResponse;
+    }
+}
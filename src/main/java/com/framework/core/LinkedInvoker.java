@@ -0,0 +1,48 @@
+package com.framework.core;
+
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+
+/**
+ * Modèle de classe cachée pour {@link RouteInvoker} : jamais chargé directement,
+ * ses octets sont redéfinis par route avec les MethodHandle en "class data".
+ */
+final class LinkedInvoker implements RouteInvoker {
+
+    private static final MethodHandle FACTORY;
+    private static final MethodHandle TARGET;
+
+    static {
+        try {
+            List<?> handles = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME, List.class);
+            FACTORY = (MethodHandle) handles.get(0);
+            TARGET = (MethodHandle) handles.get(1);
+        } catch (IllegalAccessException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    @Override
+    public Object newController() throws Exception {
+        try {
+            return (Object) FACTORY.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    @Override
+    public Object invoke(Object controller, Object[] args) throws Exception {
+        try {
+            return (Object) TARGET.invokeExact(controller, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
@@ -0,0 +1,442 @@
+package com.framework.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.nio.file.attribute.UserPrincipal;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Sessions hors du tas : journal d'enregistrements dans des segments de fichiers mappés en mémoire.
+ *
+ * Seul l'index (identifiant → position de chaque attribut) est en mémoire Java ; les valeurs restent
+ * sérialisées dans les segments et ne sont désérialisées qu'à la lecture de l'attribut.
+ * Au démarrage, les segments sont rejoués pour reconstruire l'index : les sessions survivent à un
+ * redémarrage. Quand il y a trop de segments, le plus ancien est compacté (attributs vivants recopiés)
+ * puis supprimé. Les attributs doivent être Serializable.
+ *
+ * Enregistrement : longueur (int, écrite en dernier), type, expiration (ms epoch), id, [nom, [valeur]].
+ *
+ * Les segments contiennent des identifiants de session vivants : le dossier doit appartenir à
+ * l'utilisateur du processus et lui être réservé (700), les segments sont créés en 600.
+ * Les valeurs ne sont désérialisées qu'à travers le filtre fourni (classes autorisées, limites).
+ */
+final class MappedSessionStore implements SessionStore {
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte INVALIDATE = 3;
+    private static final byte TOUCH = 4;
+
+    private static final String PREFIX = "sessions-";
+    private static final String SUFFIX = ".log";
+    // Nom d'un segment (numéro sur 6 chiffres, plus au-delà de 999999) ; tout autre fichier est ignoré
+    private static final Pattern SEGMENT_NAME = Pattern.compile(Pattern.quote(PREFIX) + "(\\d{6,9})" + Pattern.quote(SUFFIX));
+
+    private static final Set<PosixFilePermission> OWNER_ONLY = EnumSet.of(
+            PosixFilePermission.OWNER_READ, PosixFilePermission.OWNER_WRITE);
+
+    private final Path directory;
+    private final ObjectInputFilter filter;
+    private final long ttlMillis;
+    private final int segmentSize;
+    private final int maxSegments;
+
+    private final Map<String, SessionIndex> sessions = new ConcurrentHashMap<>();
+    private final Map<Integer, Segment> segments = new ConcurrentHashMap<>();
+
+    // Écriture : sous le verrou de l'instance
+    private Segment active;
+    private int position;
+    private boolean compacting;
+
+    /** Attributs d'une session : nom → position (numéro de segment << 32 | offset) */
+    private static final class SessionIndex {
+        volatile long expiresAt;
+        final Map<String, Long> attributes = new ConcurrentHashMap<>();
+    }
+
+    private record Segment(int number, Path file, MappedByteBuffer buffer) {}
+
+    MappedSessionStore(Path directory, ObjectInputFilter filter, long ttlMillis, int segmentSize, int maxSegments)
+            throws IOException {
+        this.directory = directory;
+        this.filter = filter;
+        this.ttlMillis = ttlMillis;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+
+        secureDirectory(directory);
+        recover();
+    }
+
+    /** Crée le dossier en 700, ou vérifie qu'un dossier existant n'est ni un lien, ni à un autre, ni partagé */
+    private static void secureDirectory(Path directory) throws IOException {
+        boolean posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        if (Files.notExists(directory, LinkOption.NOFOLLOW_LINKS)) {
+            if (posix) Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------")));
+            else Files.createDirectories(directory);
+        }
+        if (!Files.isDirectory(directory, LinkOption.NOFOLLOW_LINKS))
+            throw new IOException("session.dir n'est pas un dossier (ou est un lien symbolique) : " + directory);
+
+        // Propriétaire du processus : celui d'un fichier qu'il vient de créer
+        Path probe = Files.createTempFile(directory, ".owner-", null);
+        UserPrincipal self;
+        try {
+            self = Files.getOwner(probe);
+        } finally {
+            Files.delete(probe);
+        }
+        UserPrincipal owner = Files.getOwner(directory, LinkOption.NOFOLLOW_LINKS);
+        if (!owner.equals(self))
+            throw new IOException("session.dir appartient à " + owner.getName() + ", pas à " + self.getName() + " : " + directory);
+
+        if (posix) {
+            Set<PosixFilePermission> permissions = Files.getPosixFilePermissions(directory, LinkOption.NOFOLLOW_LINKS);
+            for (PosixFilePermission permission : permissions)
+                if (!permission.name().startsWith("OWNER_"))
+                    throw new IOException("session.dir accessible à d'autres utilisateurs ("
+                            + PosixFilePermissions.toString(permissions) + ", 700 attendu) : " + directory);
+        }
+    }
+
+    /* ---------------- LECTURE ---------------- */
+
+    @Override
+    public boolean exists(String id) {
+        return live(id) != null;
+    }
+
+    @Override
+    public Object get(String id, String name) {
+        SessionIndex session = live(id);
+        if (session == null) return null;
+
+        // Un segment compacté entre la lecture de la position et celle de la valeur : on relit la position
+        for (int attempt = 0; attempt < 2; attempt++) {
+            Long pointer = session.attributes.get(name);
+            if (pointer == null) return null;
+
+            byte[] value = readValue(pointer);
+            if (value != null) return deserialize(value, filter);
+        }
+        return null;
+    }
+
+    private SessionIndex live(String id) {
+        SessionIndex session = sessions.get(id);
+        if (session != null && session.expiresAt <= System.currentTimeMillis()) {
+            sessions.remove(id, session);
+            return null;
+        }
+        return session;
+    }
+
+    private byte[] readValue(long pointer) {
+        Segment segment = segments.get((int) (pointer >>> 32));
+        if (segment == null) return null;
+
+        MappedByteBuffer buffer = segment.buffer();
+        int offset = (int) pointer;
+        int end = offset + 4 + buffer.getInt(offset);
+        int nameOffset = offset + 15 + buffer.getShort(offset + 13);
+        int valueOffset = nameOffset + 2 + buffer.getShort(nameOffset);
+
+        byte[] value = new byte[end - valueOffset];
+        buffer.get(valueOffset, value);
+        return value;
+    }
+
+    /* ---------------- ÉCRITURE ---------------- */
+
+    @Override
+    public void save(String id, Map<String, Object> changed, Set<String> removed) {
+        // Sérialisation hors du verrou
+        List<String> names = new ArrayList<>(changed.size());
+        List<byte[]> values = new ArrayList<>(changed.size());
+        changed.forEach((name, value) -> {
+            names.add(name);
+            values.add(serialize(name, value));
+        });
+
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        long expiresAt = System.currentTimeMillis() + ttlMillis;
+
+        synchronized (this) {
+            SessionIndex session = sessions.computeIfAbsent(id, k -> new SessionIndex());
+            session.expiresAt = expiresAt;
+
+            for (int i = 0; i < names.size(); i++) {
+                byte[] name = names.get(i).getBytes(StandardCharsets.UTF_8);
+                session.attributes.put(names.get(i), append(PUT, expiresAt, idBytes, name, values.get(i)));
+            }
+            for (String name : removed) {
+                if (session.attributes.remove(name) != null)
+                    append(REMOVE, expiresAt, idBytes, name.getBytes(StandardCharsets.UTF_8), null);
+            }
+            if (names.isEmpty() && removed.isEmpty()) append(TOUCH, expiresAt, idBytes, null, null);
+        }
+    }
+
+    @Override
+    public void touch(String id) {
+        SessionIndex session = live(id);
+        if (session == null) return;
+
+        // Expiration repoussée au plus une fois par quart de TTL : une lecture n'écrit presque jamais
+        long now = System.currentTimeMillis();
+        if (session.expiresAt - now > ttlMillis * 3 / 4) return;
+
+        synchronized (this) {
+            session.expiresAt = now + ttlMillis;
+            append(TOUCH, session.expiresAt, id.getBytes(StandardCharsets.UTF_8), null, null);
+        }
+    }
+
+    @Override
+    public void invalidate(String id) {
+        synchronized (this) {
+            if (sessions.remove(id) != null)
+                append(INVALIDATE, 0, id.getBytes(StandardCharsets.UTF_8), null, null);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        for (Segment segment : segments.values()) segment.buffer().force();
+    }
+
+    /** Ajoute un enregistrement au segment actif ; retourne sa position */
+    private long append(byte type, long expiresAt, byte[] id, byte[] name, byte[] value) {
+        int length = 1 + 8 + 2 + id.length
+                + (name != null ? 2 + name.length : 0)
+                + (value != null ? value.length : 0);
+
+        // 4 octets de longueur, et 4 octets à zéro gardés pour marquer la fin du segment
+        if (8 + length > segmentSize)
+            throw new IllegalArgumentException("Enregistrement de session trop gros (" + length + " octets)"
+                    + " pour des segments de " + segmentSize + " octets");
+        if (active == null || position + 8 + length > segmentSize) roll();
+
+        MappedByteBuffer buffer = active.buffer();
+        int start = position;
+        int at = start + 4;
+
+        buffer.put(at, type);
+        buffer.putLong(at + 1, expiresAt);
+        buffer.putShort(at + 9, (short) id.length);
+        buffer.put(at + 11, id);
+        at += 11 + id.length;
+        if (name != null) {
+            buffer.putShort(at, (short) name.length);
+            buffer.put(at + 2, name);
+            at += 2 + name.length;
+        }
+        if (value != null) buffer.put(at, value);
+
+        // Longueur en dernier : un enregistrement interrompu n'est pas rejoué
+        buffer.putInt(start, length);
+        position = start + 4 + length;
+
+        return ((long) active.number() << 32) | start;
+    }
+
+    /** Nouveau segment ; compacte le plus ancien au-delà de maxSegments */
+    private void roll() {
+        int number = active != null ? active.number() + 1 : 1;
+        if (active != null) active.buffer().force();
+
+        try {
+            active = map(directory.resolve(String.format("%s%06d%s", PREFIX, number, SUFFIX)), number, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Impossible de créer un segment de session", e);
+        }
+        segments.put(number, active);
+        position = 0;
+
+        if (!compacting && segments.size() > maxSegments) {
+            compacting = true;
+            try {
+                sessions.values().removeIf(s -> s.expiresAt <= System.currentTimeMillis());
+                compact(segments.keySet().stream().min(Integer::compare).orElseThrow());
+            } finally {
+                compacting = false;
+            }
+        }
+    }
+
+    /** Recopie les attributs vivants du segment dans le segment actif, puis le supprime */
+    private void compact(int number) {
+        Segment old = segments.get(number);
+
+        sessions.forEach((id, session) -> {
+            byte[] idBytes = null;
+            for (Map.Entry<String, Long> attribute : session.attributes.entrySet()) {
+                long pointer = attribute.getValue();
+                if ((int) (pointer >>> 32) != number) continue;
+
+                if (idBytes == null) idBytes = id.getBytes(StandardCharsets.UTF_8);
+                byte[] value = readValue(pointer);
+                attribute.setValue(append(PUT, session.expiresAt, idBytes,
+                        attribute.getKey().getBytes(StandardCharsets.UTF_8), value));
+            }
+        });
+
+        segments.remove(number);
+        try {
+            Files.deleteIfExists(old.file());
+        } catch (IOException e) {
+            // Fichier resté sur disque : il sera rejoué (sans effet) puis compacté au prochain démarrage
+        }
+    }
+
+    /* ---------------- REDÉMARRAGE ---------------- */
+
+    private void recover() throws IOException {
+        // Segments par numéro croissant ; un fichier étranger au nom proche n'empêche pas le démarrage
+        Map<Integer, Path> files = new TreeMap<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.forEach(f -> {
+                Matcher m = SEGMENT_NAME.matcher(f.getFileName().toString());
+                if (m.matches() && Files.isRegularFile(f, LinkOption.NOFOLLOW_LINKS))
+                    files.put(Integer.parseInt(m.group(1)), f);
+            });
+        }
+
+        for (Map.Entry<Integer, Path> entry : files.entrySet()) {
+            int number = entry.getKey();
+            Path file = entry.getValue();
+
+            Segment segment = map(file, number, (int) Files.size(file));
+            segments.put(number, segment);
+            active = segment;
+            position = replay(segment);
+        }
+
+        long now = System.currentTimeMillis();
+        sessions.values().removeIf(s -> s.expiresAt <= now);
+    }
+
+    /** Rejoue les enregistrements du segment ; retourne la position de fin */
+    private int replay(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer();
+        int capacity = buffer.capacity();
+        int offset = 0;
+
+        while (offset + 4 <= capacity) {
+            int length = buffer.getInt(offset);
+            if (length <= 0 || offset + 4 + length > capacity) break;
+
+            int at = offset + 4;
+            byte type = buffer.get(at);
+            long expiresAt = buffer.getLong(at + 1);
+            byte[] id = new byte[buffer.getShort(at + 9)];
+            buffer.get(at + 11, id);
+            String sessionId = new String(id, StandardCharsets.UTF_8);
+
+            String attribute = null;
+            if (type == PUT || type == REMOVE) {
+                int nameAt = at + 11 + id.length;
+                byte[] name = new byte[buffer.getShort(nameAt)];
+                buffer.get(nameAt + 2, name);
+                attribute = new String(name, StandardCharsets.UTF_8);
+            }
+
+            switch (type) {
+                case PUT -> {
+                    SessionIndex session = sessions.computeIfAbsent(sessionId, k -> new SessionIndex());
+                    session.expiresAt = Math.max(session.expiresAt, expiresAt);
+                    session.attributes.put(attribute, ((long) segment.number() << 32) | offset);
+                }
+                case REMOVE, TOUCH -> {
+                    SessionIndex session = sessions.computeIfAbsent(sessionId, k -> new SessionIndex());
+                    session.expiresAt = Math.max(session.expiresAt, expiresAt);
+                    if (attribute != null) session.attributes.remove(attribute);
+                }
+                case INVALIDATE -> sessions.remove(sessionId);
+                default -> {
+                    return offset; // enregistrement inconnu : fin du segment lisible
+                }
+            }
+            offset += 4 + length;
+        }
+        return offset;
+    }
+
+    private static Segment map(Path file, int number, int size) throws IOException {
+        FileAttribute<?>[] attributes = file.getFileSystem().supportedFileAttributeViews().contains("posix")
+                ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(OWNER_ONLY)}
+                : new FileAttribute<?>[0];
+        try (FileChannel channel = FileChannel.open(file, Set.of(StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE, LinkOption.NOFOLLOW_LINKS), attributes)) {
+            // Le mapping reste valide après la fermeture du canal
+            return new Segment(number, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+        }
+    }
+
+    /* ---------------- SÉRIALISATION ---------------- */
+
+    private static byte[] serialize(String name, Object value) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(value);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Attribut de session \"" + name + "\" non sérialisable", e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] value, ObjectInputFilter filter) {
+        try (ObjectInputStream in = new ContextObjectInputStream(new ByteArrayInputStream(value))) {
+            in.setObjectInputFilter(filter);
+            return in.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            throw new IllegalStateException("Attribut de session illisible", e);
+        }
+    }
+
+    /** Classes résolues par le class loader de l'application (contexte du thread) */
+    private static final class ContextObjectInputStream extends ObjectInputStream {
+
+        ContextObjectInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            ClassLoader loader = Thread.currentThread().getContextClassLoader();
+            if (loader == null) return super.resolveClass(desc);
+            try {
+                return Class.forName(desc.getName(), false, loader);
+            } catch (ClassNotFoundException e) {
+                return super.resolveClass(desc);
+            }
+        }
+    }
+}
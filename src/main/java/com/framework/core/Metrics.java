@@ -0,0 +1,155 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Métriques de toutes les routes, créées au démarrage (la table n'est plus modifiée ensuite).
+ * Exposées au format texte Prometheus ou en JSON sur l'URL de l'init-param metrics.path.
+ */
+final class Metrics {
+
+    private final Map<Route, RouteMetrics> byRoute = new IdentityHashMap<>();
+    private final List<RouteMetrics> all = new ArrayList<>();
+    private final LongAdder unmatched = new LongAdder();
+    private final ResponseCache responseCache;
+    private final Admission admission;
+
+    Metrics(List<Route> routes, ResponseCache responseCache, Admission admission) {
+        for (Route route : routes) {
+            RouteMetrics m = new RouteMetrics(route);
+            byRoute.put(route, m);
+            all.add(m);
+        }
+        this.responseCache = responseCache;
+        this.admission = admission;
+    }
+
+    RouteMetrics of(Route route) {
+        return byRoute.get(route);
+    }
+
+    /** Requête sans route correspondante */
+    void unmatched() {
+        unmatched.increment();
+    }
+
+    /* ---------------- PROMETHEUS ---------------- */
+
+    void writePrometheus(PrintWriter out) {
+        out.println("# HELP framework_requests_total Requêtes traitées par route.");
+        out.println("# TYPE framework_requests_total counter");
+        for (RouteMetrics m : all) out.println("framework_requests_total" + labels(m) + " " + m.requests());
+
+        out.println("# HELP framework_errors_total Requêtes en erreur (exception ou statut 5xx) par route.");
+        out.println("# TYPE framework_errors_total counter");
+        for (RouteMetrics m : all) out.println("framework_errors_total" + labels(m) + " " + m.errors());
+
+        out.println("# HELP framework_requests_rejected_total Requêtes refusées par le contrôle d'admission, par route.");
+        out.println("# TYPE framework_requests_rejected_total counter");
+        for (RouteMetrics m : all) out.println("framework_requests_rejected_total" + labels(m) + " " + m.rejections());
+
+        out.println("# HELP framework_requests_in_flight Requêtes en cours par route.");
+        out.println("# TYPE framework_requests_in_flight gauge");
+        for (RouteMetrics m : all) out.println("framework_requests_in_flight" + labels(m) + " " + m.inFlight());
+
+        out.println("# HELP framework_request_duration_seconds Durée des requêtes par route.");
+        out.println("# TYPE framework_request_duration_seconds histogram");
+        for (RouteMetrics m : all) {
+            String route = routeLabels(m);
+            long[] counts = m.buckets();
+            long cumulated = 0;
+            for (int i = 0; i < RouteMetrics.BOUNDS; i++) {
+                cumulated += counts[i];
+                out.println("framework_request_duration_seconds_bucket{" + route
+                        + ",le=\"" + RouteMetrics.BOUND_LABELS[i] + "\"} " + cumulated);
+            }
+            cumulated += counts[RouteMetrics.BOUNDS];
+            out.println("framework_request_duration_seconds_bucket{" + route + ",le=\"+Inf\"} " + cumulated);
+            out.println("framework_request_duration_seconds_sum{" + route + "} " + m.totalNanos() / 1e9);
+            out.println("framework_request_duration_seconds_count{" + route + "} " + cumulated);
+        }
+
+        out.println("# HELP framework_unmatched_requests_total Requêtes sans route correspondante.");
+        out.println("# TYPE framework_unmatched_requests_total counter");
+        out.println("framework_unmatched_requests_total " + unmatched.sum());
+
+        if (admission.adaptiveLimit() >= 0) {
+            out.println("# HELP framework_adaptive_limit Limite globale courante de requêtes simultanées.");
+            out.println("# TYPE framework_adaptive_limit gauge");
+            out.println("framework_adaptive_limit " + admission.adaptiveLimit());
+        }
+
+        out.println("# HELP framework_response_cache_hits_total Réponses servies par le cache @Cacheable.");
+        out.println("# TYPE framework_response_cache_hits_total counter");
+        out.println("framework_response_cache_hits_total " + responseCache.hits());
+        out.println("# TYPE framework_response_cache_misses_total counter");
+        out.println("framework_response_cache_misses_total " + responseCache.misses());
+        out.println("# TYPE framework_response_cache_evictions_total counter");
+        out.println("framework_response_cache_evictions_total " + responseCache.evictions());
+        out.println("# TYPE framework_response_cache_entries gauge");
+        out.println("framework_response_cache_entries " + responseCache.size());
+        out.println("# TYPE framework_response_cache_bytes gauge");
+        out.println("framework_response_cache_bytes " + responseCache.bytes());
+    }
+
+    private static String labels(RouteMetrics m) {
+        return "{" + routeLabels(m) + "}";
+    }
+
+    private static String routeLabels(RouteMetrics m) {
+        return "method=\"" + escape(m.route().getVerb()) + "\",route=\"" + escape(m.route().getPattern()) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    /* ---------------- JSON ---------------- */
+
+    void writeJson(Writer out) throws IOException {
+        JsonWriter w = JsonCodec.gson().newJsonWriter(out);
+
+        w.beginObject();
+        w.name("routes").beginArray();
+        for (RouteMetrics m : all) {
+            long[] counts = m.buckets();
+            long requests = m.requests();
+
+            w.beginObject();
+            w.name("method").value(m.route().getVerb());
+            w.name("route").value(m.route().getPattern());
+            w.name("requests").value(requests);
+            w.name("errors").value(m.errors());
+            w.name("rejected").value(m.rejections());
+            w.name("inFlight").value(m.inFlight());
+            w.name("meanMicros").value(requests == 0 ? 0 : m.totalNanos() / requests / 1000);
+            w.name("p50Micros").value(RouteMetrics.quantileMicros(counts, 0.50));
+            w.name("p99Micros").value(RouteMetrics.quantileMicros(counts, 0.99));
+            w.endObject();
+        }
+        w.endArray();
+
+        w.name("unmatched").value(unmatched.sum());
+        if (admission.adaptiveLimit() >= 0) w.name("adaptiveLimit").value(admission.adaptiveLimit());
+
+        w.name("responseCache").beginObject();
+        w.name("hits").value(responseCache.hits());
+        w.name("misses").value(responseCache.misses());
+        w.name("evictions").value(responseCache.evictions());
+        w.name("entries").value(responseCache.size());
+        w.name("bytes").value(responseCache.bytes());
+        w.endObject();
+
+        w.endObject();
+        w.flush();
+    }
+}
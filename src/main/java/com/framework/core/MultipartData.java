@@ -0,0 +1,129 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.Part;
+
+/**
+ * Parts d'une requête multipart, traitées à la demande selon ce que la méthode déclare :
+ *   - Part / Part[]      → la part du conteneur, sans copie
+ *   - InputStream        → flux direct de la part
+ *   - Path               → fichier copié en flux dans uploads/ (une seule fois par part)
+ *   - Map<String,byte[]> → octets lus seulement pour les clés consultées
+ */
+final class MultipartData {
+
+    // ✅ Dossier uploads persistant dans le projet (pas le tmp de Tomcat)
+    private static final Path UPLOAD_DIR = Paths.get(System.getProperty("user.dir"), "uploads");
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private final Collection<Part> parts;
+    private final Map<Part, Path> saved = new IdentityHashMap<>();
+    private Map<String, byte[]> bytes;
+
+    MultipartData(HttpServletRequest req) throws IOException, ServletException {
+        this.parts = req.getParts();
+    }
+
+    /** Première part fichier portant ce nom, ou null */
+    Part file(String name) {
+        for (Part p : parts)
+            if (p.getSubmittedFileName() != null && p.getName().equals(name)) return p;
+        return null;
+    }
+
+    /** Toutes les parts fichier nommées name ou name[i] */
+    Part[] files(String name) {
+        String indexedPrefix = name + "[";
+        List<Part> list = new ArrayList<>();
+        for (Part p : parts) {
+            if (p.getSubmittedFileName() == null) continue;
+            if (p.getName().equals(name) || p.getName().startsWith(indexedPrefix)) list.add(p);
+        }
+        return list.toArray(new Part[0]);
+    }
+
+    /** Copie la part dans uploads/ sans la charger en mémoire */
+    Path save(Part part) throws IOException {
+        Path existing = saved.get(part);
+        if (existing != null) return existing;
+
+        Files.createDirectories(UPLOAD_DIR);
+
+        // Nettoyage du nom + préfixe unique pour éviter les conflits
+        String cleanName = part.getSubmittedFileName().replaceAll("[^a-zA-Z0-9\\.\\-_]", "_");
+        Path target = UPLOAD_DIR.resolve(System.currentTimeMillis() + "_" + SEQUENCE.incrementAndGet() + "_" + cleanName);
+
+        // ⚡ Copie en flux : tampon de taille fixe quelle que soit la taille du fichier
+        try (InputStream in = part.getInputStream();
+             FileChannel channel = FileChannel.open(target, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             OutputStream out = Channels.newOutputStream(channel)) {
+            in.transferTo(out);
+        }
+
+        saved.put(part, target);
+        return target;
+    }
+
+    /** Map nom → octets dont les valeurs ne sont lues qu'à la consultation */
+    Map<String, byte[]> bytes() {
+        if (bytes == null) bytes = new LazyBytesMap();
+        return bytes;
+    }
+
+    private final class LazyBytesMap extends AbstractMap<String, byte[]> {
+
+        private final Map<String, byte[]> loaded = new HashMap<>();
+
+        @Override
+        public byte[] get(Object key) {
+            if (!(key instanceof String name)) return null;
+            if (loaded.containsKey(name)) return loaded.get(name);
+
+            // Comme avant : la dernière part d'un nom donné l'emporte
+            Part found = null;
+            for (Part p : parts) if (p.getName().equals(name)) found = p;
+            if (found == null) return null;
+
+            byte[] value = read(found);
+            loaded.put(name, value);
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            for (Part p : parts) if (p.getName().equals(key)) return true;
+            return false;
+        }
+
+        @Override
+        public Set<Entry<String, byte[]>> entrySet() {
+            // Parcours complet : toutes les parts sont matérialisées
+            Map<String, byte[]> all = new LinkedHashMap<>();
+            for (Part p : parts) all.put(p.getName(), null);
+            all.replaceAll((name, ignored) -> get(name));
+            return Collections.unmodifiableMap(all).entrySet();
+        }
+
+        private byte[] read(Part p) {
+            try (InputStream in = p.getInputStream()) {
+                return in.readAllBytes();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.framework.core;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Paramètres de requête découpés une seule fois en arbre indexé :
+ * "e.department[12].name" → e → department → [12] → name.
+ *
+ * Tous les binders d'une requête partagent le même arbre : chaque clé n'est lue qu'une fois,
+ * et la taille d'un tableau est connue sans rebalayer les clés.
+ */
+final class ParamTree {
+
+    // Garde-fou : un index énorme dans une clé ne doit pas allouer un tableau géant
+    static final int MAX_INDEX = 10_000;
+
+    private String[] values;
+    private Map<String, ParamTree> children;
+    private ParamTree[] items;
+    private int maxIndex = -1;
+
+    static ParamTree parse(Map<String, String[]> paramMap) {
+        ParamTree root = new ParamTree();
+        for (Map.Entry<String, String[]> e : paramMap.entrySet()) {
+            ParamTree node = root.walk(e.getKey(), true);
+            if (node != null) node.values = e.getValue();
+        }
+        return root;
+    }
+
+    /** Noeud correspondant à un chemin ("e", "emp[0]", "e.department") ou null */
+    ParamTree find(String path) {
+        return walk(path, false);
+    }
+
+    /** Parcourt (et crée si demandé) le chemin ; null si absent ou mal formé */
+    private ParamTree walk(String key, boolean create) {
+        ParamTree node = this;
+        int n = key.length();
+        int i = 0;
+
+        while (i < n) {
+            int end = i;
+            while (end < n && key.charAt(end) != '.' && key.charAt(end) != '[') end++;
+
+            node = node.child(key.substring(i, end), create);
+            if (node == null) return null;
+            i = end;
+
+            // Un ou plusieurs index : [0][1]...
+            while (i < n && key.charAt(i) == '[') {
+                int close = key.indexOf(']', i);
+                int index = close < 0 ? -1 : parseIndex(key, i + 1, close);
+                if (index < 0) return null;
+
+                node = node.item(index, create);
+                if (node == null) return null;
+                i = close + 1;
+            }
+
+            if (i < n) {
+                if (key.charAt(i) != '.') return null;
+                i++;
+            }
+        }
+        return node;
+    }
+
+    private static int parseIndex(String key, int start, int end) {
+        if (start == end) return -1;
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+            if (value > MAX_INDEX) return -1;
+        }
+        return value;
+    }
+
+    private ParamTree child(String name, boolean create) {
+        ParamTree child = children != null ? children.get(name) : null;
+        if (child == null && create) {
+            if (children == null) children = new LinkedHashMap<>();
+            child = new ParamTree();
+            children.put(name, child);
+        }
+        return child;
+    }
+
+    private ParamTree item(int index, boolean create) {
+        ParamTree item = index <= maxIndex ? items[index] : null;
+        if (item == null && create) {
+            if (items == null) items = new ParamTree[Math.max(4, index + 1)];
+            else if (index >= items.length) items = Arrays.copyOf(items, Math.max(items.length * 2, index + 1));
+            item = new ParamTree();
+            items[index] = item;
+            if (index > maxIndex) maxIndex = index;
+        }
+        return item;
+    }
+
+    /* ---------------- LECTURE ---------------- */
+
+    /** Première valeur du paramètre, ou null */
+    String value() {
+        return values != null && values.length > 0 ? values[0] : null;
+    }
+
+    Map<String, ParamTree> children() {
+        return children != null ? children : Collections.emptyMap();
+    }
+
+    boolean hasChildren() {
+        return children != null && !children.isEmpty();
+    }
+
+    /** Plus grand index présent, -1 si aucun */
+    int maxIndex() {
+        return maxIndex;
+    }
+
+    /** Élément à l'index donné, ou null (trou dans les index) */
+    ParamTree item(int index) {
+        return index <= maxIndex ? items[index] : null;
+    }
+}
@@ -0,0 +1,238 @@
+package com.framework.core;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+import java.util.UUID;
+
+/**
+ * Analyseurs des convertisseurs intégrés : l'entrée est validée caractère par caractère
+ * avant tout appel au JDK, si bien qu'une entrée invalide ne lève jamais d'exception
+ * (pas de pile d'appels remplie pour du trafic malformé).
+ */
+final class Parsers {
+
+    /** Retourné par {@link #parseLong} pour une entrée invalide (hors des bornes demandées) */
+    static final long INVALID = Long.MIN_VALUE;
+
+    private static final String LONG_MIN = "-9223372036854775808";
+
+    private Parsers() {}
+
+    /* ---------------- ENTIERS ---------------- */
+
+    /**
+     * Entier décimal signé dans [min, max], ou INVALID ; accumulé en négatif comme
+     * Long.parseLong pour couvrir Long.MIN_VALUE sans débordement.
+     */
+    static long parseLong(String s, long min, long max) {
+        int len = s.length();
+        int i = 0;
+        boolean negative = false;
+
+        char first = s.charAt(0);
+        if (first == '-' || first == '+') {
+            if (len == 1) return INVALID;
+            negative = first == '-';
+            i = 1;
+        }
+
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < len; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || result < multmin) return INVALID;
+            result *= 10;
+            if (result < limit + digit) return INVALID;
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    static Long toLong(String s) {
+        long value = parseLong(s, Long.MIN_VALUE, Long.MAX_VALUE);
+        if (value != INVALID) return value;
+        return s.equals(LONG_MIN) ? Long.MIN_VALUE : null;
+    }
+
+    static Integer toInteger(String s) {
+        long value = parseLong(s, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return value != INVALID ? Integer.valueOf((int) value) : null;
+    }
+
+    static Short toShort(String s) {
+        long value = parseLong(s, Short.MIN_VALUE, Short.MAX_VALUE);
+        return value != INVALID ? Short.valueOf((short) value) : null;
+    }
+
+    static Byte toByte(String s) {
+        long value = parseLong(s, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        return value != INVALID ? Byte.valueOf((byte) value) : null;
+    }
+
+    /** Suite de chiffres avec signe optionnel (BigInteger) */
+    static boolean isInteger(String s) {
+        int i = s.charAt(0) == '-' || s.charAt(0) == '+' ? 1 : 0;
+        if (i == s.length()) return false;
+        for (; i < s.length(); i++)
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') return false;
+        return true;
+    }
+
+    /* ---------------- DÉCIMAUX ---------------- */
+
+    /**
+     * [+-] chiffres [. chiffres] [(e|E) [+-] chiffres], au moins un chiffre avant l'exposant ;
+     * exposant de 9 chiffres au plus (limite de BigDecimal). Ni NaN, ni Infinity, ni suffixe d/f.
+     */
+    static boolean isDecimal(String s) {
+        int len = s.length();
+        int i = 0;
+        if (s.charAt(0) == '-' || s.charAt(0) == '+') i++;
+
+        int digits = 0;
+        while (i < len && isDigit(s.charAt(i))) { i++; digits++; }
+        if (i < len && s.charAt(i) == '.') {
+            i++;
+            while (i < len && isDigit(s.charAt(i))) { i++; digits++; }
+        }
+        if (digits == 0) return false;
+        if (i == len) return true;
+
+        if (s.charAt(i) != 'e' && s.charAt(i) != 'E') return false;
+        i++;
+        if (i < len && (s.charAt(i) == '-' || s.charAt(i) == '+')) i++;
+        int exponentDigits = 0;
+        while (i < len && isDigit(s.charAt(i))) { i++; exponentDigits++; }
+        return i == len && exponentDigits > 0 && exponentDigits <= 9;
+    }
+
+    /* ---------------- BOOLÉEN, CARACTÈRE ---------------- */
+
+    /** true/false, on/off (cases à cocher), 1/0, yes/no ; casse ignorée */
+    static Boolean toBoolean(String s) {
+        switch (s.length()) {
+            case 1 -> {
+                if (s.charAt(0) == '1') return Boolean.TRUE;
+                if (s.charAt(0) == '0') return Boolean.FALSE;
+            }
+            case 2 -> {
+                if (s.equalsIgnoreCase("on")) return Boolean.TRUE;
+                if (s.equalsIgnoreCase("no")) return Boolean.FALSE;
+            }
+            case 3 -> {
+                if (s.equalsIgnoreCase("yes")) return Boolean.TRUE;
+                if (s.equalsIgnoreCase("off")) return Boolean.FALSE;
+            }
+            case 4 -> {
+                if (s.equalsIgnoreCase("true")) return Boolean.TRUE;
+            }
+            case 5 -> {
+                if (s.equalsIgnoreCase("false")) return Boolean.FALSE;
+            }
+            default -> {}
+        }
+        return null;
+    }
+
+    static Character toCharacter(String s) {
+        return s.length() == 1 ? Character.valueOf(s.charAt(0)) : null;
+    }
+
+    /* ---------------- UUID ---------------- */
+
+    /** Forme canonique 8-4-4-4-12 hexadécimale */
+    static UUID toUuid(String s) {
+        if (s.length() != 36) return null;
+        long msb = 0;
+        long lsb = 0;
+        int nibbles = 0;
+        for (int i = 0; i < 36; i++) {
+            char c = s.charAt(i);
+            if (i == 8 || i == 13 || i == 18 || i == 23) {
+                if (c != '-') return null;
+                continue;
+            }
+            int value = Character.digit(c, 16);
+            if (value < 0) return null;
+            if (nibbles < 16) msb = (msb << 4) | value;
+            else lsb = (lsb << 4) | value;
+            nibbles++;
+        }
+        return new UUID(msb, lsb);
+    }
+
+    /* ---------------- DATES ISO ---------------- */
+
+    /** yyyy-MM-dd */
+    static LocalDate toLocalDate(String s) {
+        return s.length() == 10 ? date(s, 0) : null;
+    }
+
+    /** HH:mm, HH:mm:ss ou HH:mm:ss.fraction (1 à 9 chiffres) */
+    static LocalTime toLocalTime(String s) {
+        return time(s, 0);
+    }
+
+    /** yyyy-MM-ddTHH:mm[:ss[.fraction]] (forme de input type=datetime-local) */
+    static LocalDateTime toLocalDateTime(String s) {
+        if (s.length() < 16 || s.charAt(10) != 'T') return null;
+        LocalDate date = date(s, 0);
+        if (date == null) return null;
+        LocalTime time = time(s, 11);
+        return time != null ? LocalDateTime.of(date, time) : null;
+    }
+
+    private static LocalDate date(String s, int at) {
+        if (s.charAt(at + 4) != '-' || s.charAt(at + 7) != '-') return null;
+        int year = digits(s, at, 4);
+        int month = digits(s, at + 5, 2);
+        int day = digits(s, at + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1) return null;
+        if (day > Month.of(month).length(Year.isLeap(year))) return null;
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalTime time(String s, int at) {
+        int len = s.length() - at;
+        if (len != 5 && len < 8) return null;
+        if (s.charAt(at + 2) != ':') return null;
+
+        int hour = digits(s, at, 2);
+        int minute = digits(s, at + 3, 2);
+        int second = 0;
+        int nano = 0;
+
+        if (len > 5) {
+            if (s.charAt(at + 5) != ':') return null;
+            second = digits(s, at + 6, 2);
+            if (len > 8) {
+                int fraction = len - 9;
+                if (s.charAt(at + 8) != '.' || fraction < 1 || fraction > 9) return null;
+                nano = digits(s, at + 9, fraction);
+                if (nano < 0) return null;
+                for (int i = fraction; i < 9; i++) nano *= 10;
+            }
+        }
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59) return null;
+        return LocalTime.of(hour, minute, second, nano);
+    }
+
+    /** count chiffres décimaux à partir de at, ou -1 */
+    private static int digits(String s, int at, int count) {
+        int value = 0;
+        for (int i = at; i < at + count; i++) {
+            char c = s.charAt(i);
+            if (!isDigit(c)) return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
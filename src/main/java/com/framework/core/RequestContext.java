@@ -0,0 +1,100 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.util.Map;
+
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * État d'une requête partagé par les résolveurs d'un {@link BindingPlan}.
+ * Arbre des paramètres et parts multipart sont construits à la demande, une fois par requête.
+ */
+final class RequestContext {
+
+    private final HttpServletRequest req;
+    private final HttpServletResponse res;
+    private final Map<String, String> pathVariables;
+    private final Sessions sessions;
+    private final boolean multipart;
+
+    private ParamTree params;
+    private MultipartData multipartData;
+    private FrameworkSession session;
+    private BindingResult bindingResult;
+
+    RequestContext(HttpServletRequest req, Map<String, String> pathVariables) {
+        this(req, null, pathVariables, Sessions.container());
+    }
+
+    RequestContext(HttpServletRequest req, HttpServletResponse res,
+                   Map<String, String> pathVariables, Sessions sessions) {
+        this.req = req;
+        this.res = res;
+        this.pathVariables = pathVariables;
+        this.sessions = sessions;
+
+        String contentType = req.getContentType();
+        this.multipart = contentType != null && contentType.toLowerCase().startsWith("multipart/");
+    }
+
+    HttpServletRequest request() {
+        return req;
+    }
+
+    String pathVariable(String name) {
+        return pathVariables.get(name);
+    }
+
+    /** Paramètres découpés en arbre, une seule fois par requête */
+    ParamTree params() {
+        if (params == null) params = ParamTree.parse(req.getParameterMap());
+        return params;
+    }
+
+    /** Session de la requête, ouverte une fois */
+    FrameworkSession session() {
+        if (session == null) session = sessions.open(req, res);
+        return session;
+    }
+
+    /** Écrit les modifications de session de la requête, s'il y en a */
+    void flushSession() {
+        if (session != null) session.flush();
+    }
+
+    /** Erreurs de conversion de la requête, créées à la demande */
+    BindingResult bindingResult() {
+        if (bindingResult == null) bindingResult = new BindingResult();
+        return bindingResult;
+    }
+
+    boolean hasBindingErrors() {
+        return bindingResult != null && bindingResult.hasErrors();
+    }
+
+    /** Convertit une valeur ; une valeur invalide est enregistrée comme erreur du champ et donne null */
+    Object convert(String field, String raw, Class<?> type, Converter<?> converter) {
+        return convert(field, -1, raw, type, converter);
+    }
+
+    /** Élément field[index] (index ≥ 0) ; le nom complet n'est construit qu'en cas d'erreur */
+    Object convert(String field, int index, String raw, Class<?> type, Converter<?> converter) {
+        if (raw == null || (raw.isEmpty() && type != String.class)) return null;
+        Object value = converter.convert(raw);
+        if (value == null) bindingResult().reject(index < 0 ? field : field + "[" + index + "]", raw, type);
+        return value;
+    }
+
+    boolean isMultipart() {
+        return multipart;
+    }
+
+    /** Parts multipart (sans lecture du contenu), ou null si la requête n'est pas multipart */
+    MultipartData multipart() throws IOException, ServletException {
+        if (!multipart) return null;
+        if (multipartData == null) multipartData = new MultipartData(req);
+        return multipartData;
+    }
+}
@@ -0,0 +1,208 @@
+package com.framework.core;
+
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.BaseStream;
+import java.util.stream.IntStream;
+import java.util.zip.CRC32;
+
+import com.framework.annotation.Cacheable;
+
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.Part;
+
+/**
+ * Cache des réponses sérialisées des méthodes GET annotées @Cacheable.
+ *
+ * Borné en octets, éviction LRU ; chaque entrée porte un ETag fort calculé sur son contenu,
+ * ce qui permet de répondre 304 sans appeler le contrôleur.
+ */
+final class ResponseCache {
+
+    // Coût fixe estimé d'une entrée (objets, clé) en plus du contenu
+    private static final int ENTRY_OVERHEAD = 96;
+
+    private final long maxBytes;
+    private long currentBytes;
+
+    // Ordre d'accès : la tête est l'entrée la moins récemment utilisée
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    record Entry(byte[] body, String contentType, String etag, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+
+        long weight(String key) {
+            return body.length + 2L * key.length() + ENTRY_OVERHEAD;
+        }
+    }
+
+    ResponseCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /** Entrée valide pour la clé, ou null (absente ou expirée) */
+    Entry get(String key) {
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.isExpired(now)) {
+                remove(key);
+                entry = null;
+            }
+            if (entry == null) misses.increment();
+            else hits.increment();
+            return entry;
+        }
+    }
+
+    /** Ajoute une réponse ; les entrées les moins récemment utilisées sont évincées si besoin */
+    Entry put(String key, byte[] body, String contentType, long ttlNanos) {
+        Entry entry = new Entry(body, contentType, etagOf(body), System.nanoTime() + ttlNanos);
+        long weight = entry.weight(key);
+        if (weight > maxBytes) return entry; // trop gros pour être gardé
+
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            currentBytes += weight;
+
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (currentBytes > maxBytes && eldest.hasNext()) {
+                Map.Entry<String, Entry> e = eldest.next();
+                currentBytes -= e.getValue().weight(e.getKey());
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+        return entry;
+    }
+
+    private void remove(String key) {
+        Entry old = entries.remove(key);
+        if (old != null) currentBytes -= old.weight(key);
+    }
+
+    long hits() {
+        return hits.sum();
+    }
+
+    long misses() {
+        return misses.sum();
+    }
+
+    long evictions() {
+        return evictions.sum();
+    }
+
+    synchronized long size() {
+        return entries.size();
+    }
+
+    synchronized long bytes() {
+        return currentBytes;
+    }
+
+    private static String etagOf(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return "\"" + Long.toHexString(crc.getValue()) + "-" + Integer.toHexString(body.length) + "\"";
+    }
+
+    /* ---------------- POLITIQUE PAR ROUTE ---------------- */
+
+    /** @Cacheable compilé une fois : indices des paramètres de la clé, durée de vie */
+    static final class Policy {
+
+        final long ttlNanos;
+        final boolean perRole;
+        private final int[] keyIndexes;
+
+        private Policy(long ttlNanos, boolean perRole, int[] keyIndexes) {
+            this.ttlNanos = ttlNanos;
+            this.perRole = perRole;
+            this.keyIndexes = keyIndexes;
+        }
+
+        /** Politique de la méthode, ou null si elle n'est pas @Cacheable */
+        static Policy of(Method method) {
+            Cacheable cacheable = method.getAnnotation(Cacheable.class);
+            if (cacheable == null) return null;
+
+            Parameter[] params = method.getParameters();
+            int[] indexes;
+
+            if (cacheable.key().length == 0) {
+                // Par défaut : tous les arguments bindés (BindingResult en découle, il n'est pas une entrée)
+                indexes = IntStream.range(0, params.length)
+                        .filter(i -> params[i].getType() != BindingResult.class)
+                        .toArray();
+            } else {
+                indexes = new int[cacheable.key().length];
+                for (int k = 0; k < indexes.length; k++) {
+                    indexes[k] = indexOf(params, cacheable.key()[k]);
+                    if (indexes[k] < 0)
+                        throw new IllegalStateException("@Cacheable : paramètre \"" + cacheable.key()[k]
+                                + "\" inconnu sur " + method.getDeclaringClass().getName() + "." + method.getName());
+                }
+            }
+
+            // Paramètre hors clé : une même réponse servie pour des requêtes différentes ; refus au démarrage
+            for (int index : indexes) {
+                if (!isKeyable(params[index].getType()))
+                    throw new IllegalStateException("@Cacheable : le paramètre \"" + params[index].getName() + "\" ("
+                            + params[index].getType().getSimpleName() + ") ne peut pas faire partie de la clé ; "
+                            + "préciser key sur " + method.getDeclaringClass().getName() + "." + method.getName());
+            }
+
+            return new Policy(TimeUnit.SECONDS.toNanos(cacheable.ttl()), cacheable.perRole(), indexes);
+        }
+
+        /** Valeur représentable dans la clé : pas de session, fichier, flux ni objet du conteneur */
+        private static boolean isKeyable(Class<?> type) {
+            return !(FrameworkSession.class.isAssignableFrom(type)
+                    || Part.class.isAssignableFrom(type)
+                    || type == Part[].class
+                    || Path.class.isAssignableFrom(type)
+                    || InputStream.class.isAssignableFrom(type)
+                    || Iterator.class.isAssignableFrom(type)
+                    || BaseStream.class.isAssignableFrom(type)
+                    || ServletRequest.class.isAssignableFrom(type)
+                    || ServletResponse.class.isAssignableFrom(type)
+                    || type == BindingResult.class);
+        }
+
+        private static int indexOf(Parameter[] params, String name) {
+            for (int i = 0; i < params.length; i++)
+                if (params[i].getName().equals(name)) return i;
+            return -1;
+        }
+
+        /** Clé : pattern de la route + valeurs des paramètres choisis (+ rôle) */
+        String key(Route route, Object[] args, Object role) {
+            StringBuilder sb = new StringBuilder(route.getPattern());
+            for (int index : keyIndexes) {
+                Object arg = args[index];
+                sb.append('\u0000');
+                if (arg == null || ClassBinding.isSimple(arg.getClass())) sb.append(arg);
+                else sb.append(JsonCodec.gson().toJson(arg)); // objet, tableau, Map : forme JSON
+            }
+            if (perRole) sb.append('\u0000').append("role=").append(role);
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.framework.core;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.stream.BaseStream;
+
+import com.google.gson.stream.JsonWriter;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Résultats en flux (Stream, Iterator, curseur Iterable qui n'est pas une Collection) écrits
+ * élément par élément : tableau JSON (dans l'enveloppe pour une route @Json), ou une ligne
+ * JSON par élément si le client accepte application/x-ndjson.
+ *
+ * Rien n'est matérialisé : la réponse part après le premier élément, puis tous les batchSize
+ * éléments (flushBuffer, qui fait aussi avancer la compression). La source est fermée à la fin,
+ * sur erreur, ou dès qu'un flush révèle que le client est parti.
+ */
+final class ResultStream {
+
+    static final String NDJSON = "application/x-ndjson";
+
+    private final JsonCodec codec;
+    private final int batchSize;
+
+    ResultStream(JsonCodec codec, int batchSize) {
+        this.codec = codec;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    static boolean isStreamable(Object result) {
+        return result != null && isStreamable(result.getClass());
+    }
+
+    /** List, Set... gardent l'écriture d'un bloc (et le "count" de l'enveloppe) */
+    static boolean isStreamable(Class<?> type) {
+        return BaseStream.class.isAssignableFrom(type)
+                || Iterator.class.isAssignableFrom(type)
+                || (Iterable.class.isAssignableFrom(type) && !Collection.class.isAssignableFrom(type));
+    }
+
+    /** Écrit tous les éléments ; un client déconnecté arrête simplement l'écriture */
+    void write(Object result, HttpServletRequest req, HttpServletResponse res, Route route, Object[] args)
+            throws IOException {
+
+        Iterator<?> elements;
+        AutoCloseable source;
+        if (result instanceof BaseStream<?, ?> stream) {
+            elements = stream.iterator();
+            source = stream;
+        } else if (result instanceof Iterator<?> iterator) {
+            elements = iterator;
+            source = iterator instanceof AutoCloseable c ? c : null;
+        } else {
+            Iterable<?> iterable = (Iterable<?>) result;
+            elements = iterable.iterator();
+            source = iterable instanceof AutoCloseable c ? c : elements instanceof AutoCloseable c ? c : null;
+        }
+
+        boolean ndjson = StaticResources.accepts(req.getHeader("Accept"), NDJSON);
+        res.setContentType(ndjson ? NDJSON + ";charset=UTF-8" : "application/json;charset=UTF-8");
+        res.setCharacterEncoding("UTF-8");
+        PrintWriter out = res.getWriter();
+
+        try {
+            if (ndjson) writeLines(elements, out, res);
+            else writeArray(elements, out, res, route, args);
+        } catch (IOException e) {
+            // client parti (seul flushBuffer lève : le PrintWriter avale ses erreurs)
+        } catch (RuntimeException e) {
+            // Erreur de la source avant le premier envoi : réponse d'erreur propre
+            if (!res.isCommitted()) res.resetBuffer();
+            throw e;
+        } finally {
+            close(source);
+        }
+    }
+
+    private void writeArray(Iterator<?> elements, PrintWriter out, HttpServletResponse res,
+                            Route route, Object[] args) throws IOException {
+        JsonWriter w = route.isJson()
+                ? codec.openEnvelope(out, route.getParameterNames(), args)
+                : JsonCodec.gson().newJsonWriter(out);
+
+        w.beginArray();
+        long count = 0;
+        while (elements.hasNext()) {
+            codec.write(w, elements.next());
+            if (++count == 1 || count % batchSize == 0) flush(out, res);
+        }
+        w.endArray();
+        if (route.isJson()) w.endObject();
+        w.flush();
+    }
+
+    /** Une valeur JSON par ligne : JsonWriter tolérant (plusieurs valeurs de premier niveau), sans tampon */
+    private void writeLines(Iterator<?> elements, PrintWriter out, HttpServletResponse res) throws IOException {
+        JsonWriter w = JsonCodec.gson().newJsonWriter(out);
+        w.setLenient(true);
+
+        long count = 0;
+        while (elements.hasNext()) {
+            codec.write(w, elements.next());
+            out.write('\n');
+            if (++count == 1 || count % batchSize == 0) flush(out, res);
+        }
+    }
+
+    /** Envoie ce qui est écrit ; le PrintWriter ne lève rien : checkError signale la déconnexion */
+    private static void flush(PrintWriter out, HttpServletResponse res) throws IOException {
+        res.flushBuffer();
+        if (out.checkError()) throw new EOFException("Client déconnecté");
+    }
+
+    private static void close(AutoCloseable source) {
+        if (source == null) return;
+        try {
+            source.close();
+        } catch (Exception ignored) {
+            // la réponse est écrite : une erreur de fermeture n'y change plus rien
+        }
+    }
+}
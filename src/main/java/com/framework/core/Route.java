@@ -0,0 +1,143 @@
+package com.framework.core;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.util.HashSet;
+import java.util.Set;
+
+import com.framework.annotation.Auth;
+import com.framework.annotation.Json;
+import com.framework.annotation.NoCompression;
+import com.framework.annotation.VirtualThread;
+
+/**
+ * Une route résolue au démarrage : verbe HTTP + pattern d'URL → méthode de contrôleur.
+ * Les routes sont immuables et partagées par toutes les requêtes.
+ */
+public final class Route {
+
+    // Verbe utilisé pour @URL (accepte toutes les méthodes HTTP)
+    public static final String ANY = "*";
+
+    private final String verb;
+    private final String pattern;
+    private final Class<?> controllerClass;
+    private final Method method;
+    private final String[] segments; // pattern découpé une fois pour toutes
+    private final boolean dynamic;
+
+    // Métadonnées résolues une fois : plus de getAnnotation() pendant la requête
+    private final RouteInvoker invoker;
+    private final BindingPlan bindingPlan;
+    private final ResponseCache.Policy cachePolicy;
+    private final boolean json;
+    private final boolean virtualThread;
+    private final boolean compressible;
+    private final Auth auth;
+    private final String[] parameterNames;
+
+    public Route(String verb, String pattern, Class<?> controllerClass, Method method) {
+        this.verb = verb;
+        this.pattern = pattern;
+        this.controllerClass = controllerClass;
+        this.method = method;
+
+        String p = pattern.endsWith("/") ? pattern.substring(0, pattern.length() - 1) : pattern;
+        this.segments = p.split("/", -1);
+        this.dynamic = pattern.contains("{");
+
+        this.invoker = RouteInvoker.link(controllerClass, method);
+        this.json = method.isAnnotationPresent(Json.class);
+        this.auth = method.getAnnotation(Auth.class);
+        this.virtualThread = method.isAnnotationPresent(VirtualThread.class)
+                || controllerClass.isAnnotationPresent(VirtualThread.class);
+        this.compressible = !method.isAnnotationPresent(NoCompression.class)
+                && !controllerClass.isAnnotationPresent(NoCompression.class);
+
+        Parameter[] params = method.getParameters();
+        this.parameterNames = new String[params.length];
+        for (int i = 0; i < params.length; i++) parameterNames[i] = params[i].getName();
+
+        Set<String> pathVariableNames = new HashSet<>();
+        for (String segment : segments)
+            if (isVariable(segment)) pathVariableNames.add(segment.substring(1, segment.length() - 1));
+        this.bindingPlan = BindingPlan.compile(params, pathVariableNames);
+        this.cachePolicy = ResponseCache.Policy.of(method);
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public Class<?> getControllerClass() {
+        return controllerClass;
+    }
+
+    public Method getMethod() {
+        return method;
+    }
+
+    RouteInvoker getInvoker() {
+        return invoker;
+    }
+
+    BindingPlan getBindingPlan() {
+        return bindingPlan;
+    }
+
+    /** Politique @Cacheable, ou null */
+    ResponseCache.Policy getCachePolicy() {
+        return cachePolicy;
+    }
+
+    /** @VirtualThread sur la méthode ou sur le contrôleur */
+    public boolean isVirtualThread() {
+        return virtualThread;
+    }
+
+    /** Faux si @NoCompression est sur la méthode ou sur le contrôleur */
+    public boolean isCompressible() {
+        return compressible;
+    }
+
+    public boolean isJson() {
+        return json;
+    }
+
+    /** @Auth de la méthode, ou null si l'accès est libre */
+    public Auth getAuth() {
+        return auth;
+    }
+
+    String[] getParameterNames() {
+        return parameterNames;
+    }
+
+    String[] getSegments() {
+        return segments;
+    }
+
+    public boolean isDynamic() {
+        return dynamic;
+    }
+
+    static boolean isVariable(String segment) {
+        return segment.startsWith("{") && segment.endsWith("}");
+    }
+
+    /** Forme canonique du pattern : "/" final retiré et variables anonymisées ("/user/{id}" → "/user/{}") */
+    String normalizedPattern() {
+        String p = pattern;
+        if (p.endsWith("/")) p = p.substring(0, p.length() - 1);
+        return p.replaceAll("\\{[^/]*\\}", "{}");
+    }
+
+    @Override
+    public String toString() {
+        return verb + " " + pattern + " -> " + controllerClass.getName() + "." + method.getName();
+    }
+}
@@ -0,0 +1,18 @@
+package com.framework.core;
+
+import java.util.List;
+
+/**
+ * Index des routes généré à la compilation par le module processor (framework-processor).
+ * Déclaré dans META-INF/services : {@link FrontServlet} le charge à la place du scan du classpath.
+ */
+public interface RouteIndex {
+
+    List<Mapping> mappings();
+
+    /**
+     * Une méthode de contrôleur et son mapping.
+     * verb vaut "GET", "POST" ou {@link Route#ANY} pour @URL.
+     */
+    record Mapping(String verb, String pattern, Class<?> controller, String method, Class<?>... parameterTypes) {}
+}
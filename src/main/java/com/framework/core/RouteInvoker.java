@@ -0,0 +1,118 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+
+/**
+ * Appel pré-lié d'une méthode de contrôleur, construit une seule fois au démarrage.
+ *
+ * Chaque route reçoit sa propre classe cachée (copie de {@link LinkedInvoker}) dont les
+ * MethodHandle sont des constantes static final : le JIT peut inliner jusqu'au corps du contrôleur.
+ */
+interface RouteInvoker {
+
+    MethodType FACTORY_TYPE = MethodType.methodType(Object.class);
+    MethodType TARGET_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** Nouvelle instance du contrôleur (une par requête, comme avant) */
+    Object newController() throws Exception;
+
+    /** Appel de la méthode ; les exceptions du contrôleur remontent telles quelles */
+    Object invoke(Object controller, Object[] args) throws Exception;
+
+    static RouteInvoker link(Class<?> controllerClass, Method method) {
+        MethodHandle factory;
+        MethodHandle target;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            boolean isStatic = Modifier.isStatic(method.getModifiers());
+
+            method.setAccessible(true);
+            MethodHandle handle = lookup.unreflect(method);
+
+            // Méthode statique : on ignore l'instance pour garder la même signature
+            if (isStatic) handle = MethodHandles.dropArguments(handle, 0, Object.class);
+
+            target = handle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(TARGET_TYPE);
+
+            if (isStatic) {
+                factory = MethodHandles.constant(Object.class, null);
+            } else {
+                Constructor<?> constructor = controllerClass.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                factory = lookup.unreflectConstructor(constructor).asType(FACTORY_TYPE);
+            }
+
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Le contrôleur " + controllerClass.getName()
+                    + " doit avoir un constructeur sans argument", e);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("Impossible de lier " + controllerClass.getName()
+                    + "." + method.getName() + " : " + e.getMessage(), e);
+        }
+
+        try {
+            return defineHidden(factory, target);
+        } catch (ReflectiveOperationException | IOException | LinkageError e) {
+            // Repli : mêmes handles, simplement portés par des champs d'instance
+            return new RouteInvoker() {
+                public Object newController() throws Exception {
+                    return call(factory);
+                }
+                public Object invoke(Object controller, Object[] args) throws Exception {
+                    return call(target, controller, args);
+                }
+            };
+        }
+    }
+
+    private static RouteInvoker defineHidden(MethodHandle factory, MethodHandle target)
+            throws ReflectiveOperationException, IOException {
+        byte[] template;
+        try (InputStream in = RouteInvoker.class.getResourceAsStream(LinkedInvoker.class.getSimpleName() + ".class")) {
+            if (in == null) throw new IOException("Modèle " + LinkedInvoker.class.getName() + " introuvable");
+            template = in.readAllBytes();
+        }
+
+        MethodHandles.Lookup hidden = MethodHandles.lookup()
+                .defineHiddenClassWithClassData(template, List.of(factory, target), true);
+
+        MethodHandle constructor = hidden.findConstructor(hidden.lookupClass(), MethodType.methodType(void.class));
+        try {
+            return (RouteInvoker) constructor.invoke();
+        } catch (Throwable t) {
+            throw new InstantiationException(t.toString());
+        }
+    }
+
+    /* Appels génériques pour le repli sans classe cachée */
+
+    private static Object call(MethodHandle factory) throws Exception {
+        try {
+            return (Object) factory.invokeExact();
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static Object call(MethodHandle target, Object controller, Object[] args) throws Exception {
+        try {
+            return (Object) target.invokeExact(controller, args);
+        } catch (Exception | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+}
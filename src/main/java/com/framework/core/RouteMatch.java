@@ -0,0 +1,5 @@
+package com.framework.core;
+
+import java.util.Map;
+
+public record RouteMatch(Route route, Map<String, String> pathVariables) {}
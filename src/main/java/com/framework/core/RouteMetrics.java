@@ -0,0 +1,112 @@
+package com.framework.core;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs d'une route : requêtes, erreurs, refus, requêtes en cours et histogramme des latences.
+ *
+ * Tout est en LongAdder (pas de verrou, contention répartie) ; l'histogramme a des
+ * seaux exponentiels fixes, de 1 µs à 2^25 µs (≈ 33 s), plus un seau +Inf.
+ */
+final class RouteMetrics {
+
+    static final int BOUNDS = 26;
+
+    // Bornes des seaux en secondes, au format Prometheus ("0.000001", "0.000002"...)
+    static final String[] BOUND_LABELS = new String[BOUNDS];
+    static {
+        for (int i = 0; i < BOUNDS; i++)
+            BOUND_LABELS[i] = BigDecimal.valueOf(1L << i).movePointLeft(6).toPlainString();
+    }
+
+    private final Route route;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder inFlight = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder[] buckets = new LongAdder[BOUNDS + 1];
+
+    RouteMetrics(Route route) {
+        this.route = route;
+        for (int i = 0; i < buckets.length; i++) buckets[i] = new LongAdder();
+    }
+
+    Route route() {
+        return route;
+    }
+
+    /** Début d'une requête : retourne l'instant à passer à {@link #end} */
+    long begin() {
+        inFlight.increment();
+        return System.nanoTime();
+    }
+
+    /** Fin d'une requête traitée ; retourne sa durée en ns */
+    long end(long start, boolean error) {
+        long nanos = System.nanoTime() - start;
+        inFlight.decrement();
+        requests.increment();
+        if (error) errors.increment();
+        totalNanos.add(nanos);
+        buckets[bucketOf(nanos)].increment();
+        return nanos;
+    }
+
+    /** Fin d'une requête refusée par le contrôle d'admission : hors latences et erreurs */
+    void rejected() {
+        inFlight.decrement();
+        rejected.increment();
+    }
+
+    /** Seau i : durée ≤ 2^i µs ; BOUNDS pour +Inf */
+    static int bucketOf(long nanos) {
+        long micros = nanos / 1000;
+        if (micros <= 1) return 0;
+        return Math.min(64 - Long.numberOfLeadingZeros(micros - 1), BOUNDS);
+    }
+
+    long requests() {
+        return requests.sum();
+    }
+
+    long errors() {
+        return errors.sum();
+    }
+
+    long rejections() {
+        return rejected.sum();
+    }
+
+    long inFlight() {
+        return inFlight.sum();
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    /** Nombre de requêtes par seau (non cumulé), BOUNDS + 1 valeurs */
+    long[] buckets() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < counts.length; i++) counts[i] = buckets[i].sum();
+        return counts;
+    }
+
+    /** Borne haute (µs) du seau contenant le quantile q, -1 si aucune requête ou au-delà de la dernière borne */
+    static long quantileMicros(long[] counts, double q) {
+        long total = 0;
+        for (long c : counts) total += c;
+        if (total == 0) return -1;
+
+        long rank = (long) Math.ceil(q * total);
+        long seen = 0;
+        for (int i = 0; i < BOUNDS; i++) {
+            seen += counts[i];
+            if (seen >= rank) return 1L << i;
+        }
+        return -1;
+    }
+}
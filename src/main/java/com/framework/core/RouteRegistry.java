@@ -0,0 +1,116 @@
+package com.framework.core;
+
+import java.lang.reflect.Method;
+import java.util.*;
+
+import com.framework.annotation.GetMapping;
+import com.framework.annotation.PostMapping;
+import com.framework.annotation.URL;
+
+/**
+ * Table des routes construite une seule fois dans {@link FrontServlet#init()}.
+ * Elle est figée après construction : aucune réflexion ni scan au moment de la requête.
+ */
+public final class RouteRegistry {
+
+    private final List<Route> routes;
+    private final UrlRouter router;
+
+    private RouteRegistry(List<Route> routes, UrlRouter router) {
+        this.routes = routes;
+        this.router = router;
+    }
+
+    /**
+     * Construit la table à partir des classes @Controller.
+     * Les mappings en conflit (même verbe, même pattern) sont tous signalés d'un coup.
+     */
+    public static RouteRegistry build(List<Class<?>> controllers) {
+        List<Route> all = new ArrayList<>();
+
+        for (Class<?> clazz : controllers) {
+            for (Method method : clazz.getDeclaredMethods()) {
+                if (method.isAnnotationPresent(URL.class))
+                    all.add(new Route(Route.ANY, method.getAnnotation(URL.class).url(), clazz, method));
+                if (method.isAnnotationPresent(GetMapping.class))
+                    all.add(new Route("GET", method.getAnnotation(GetMapping.class).value(), clazz, method));
+                if (method.isAnnotationPresent(PostMapping.class))
+                    all.add(new Route("POST", method.getAnnotation(PostMapping.class).value(), clazz, method));
+            }
+        }
+
+        return of(all);
+    }
+
+    /**
+     * Construit la table à partir d'index générés à la compilation : aucune découverte
+     * par réflexion, seulement la résolution des méthodes déjà connues.
+     */
+    public static RouteRegistry fromIndexes(List<RouteIndex> indexes) {
+        List<Route> all = new ArrayList<>();
+
+        for (RouteIndex index : indexes) {
+            for (RouteIndex.Mapping m : index.mappings()) {
+                try {
+                    Method method = m.controller().getDeclaredMethod(m.method(), m.parameterTypes());
+                    all.add(new Route(m.verb(), m.pattern(), m.controller(), method));
+                } catch (NoSuchMethodException e) {
+                    throw new IllegalStateException("Index de routes périmé, méthode introuvable : "
+                            + m.controller().getName() + "." + m.method(), e);
+                }
+            }
+        }
+
+        return of(all);
+    }
+
+    /** Construit la table à partir de routes déjà résolues, en vérifiant les conflits */
+    public static RouteRegistry of(List<Route> routes) {
+        List<String> conflicts = new ArrayList<>();
+        Map<String, List<Route>> byPattern = new LinkedHashMap<>();
+
+        List<Route> accepted = new ArrayList<>();
+        UrlRouter router = new UrlRouter();
+
+        for (Route route : routes) {
+            List<Route> samePattern = byPattern.computeIfAbsent(route.normalizedPattern(), p -> new ArrayList<>());
+
+            // Même pattern, verbe identique (ou @URL d'un côté) et méthode différente → ambigu
+            Route clash = null;
+            for (Route other : samePattern) {
+                boolean sameVerb = other.getVerb().equals(route.getVerb())
+                        || other.getVerb().equals(Route.ANY)
+                        || route.getVerb().equals(Route.ANY);
+                if (sameVerb && !other.getMethod().equals(route.getMethod())) {
+                    clash = other;
+                    break;
+                }
+            }
+            if (clash != null) {
+                conflicts.add(clash + "  <->  " + route);
+                continue;
+            }
+            samePattern.add(route);
+
+            accepted.add(route);
+            router.add(route);
+        }
+
+        if (!conflicts.isEmpty())
+            throw new IllegalStateException("Mappings d'URL en conflit :\n  " + String.join("\n  ", conflicts));
+
+        return new RouteRegistry(List.copyOf(accepted), router);
+    }
+
+    /**
+     * Retourne l'unique route qui traite (verbe, url) avec ses variables de chemin, ou null.
+     * Voir {@link UrlRouter} pour les règles de priorité.
+     */
+    public RouteMatch resolve(String verb, String url) {
+        return router.match(verb, url);
+    }
+
+    public List<Route> getRoutes() {
+        return routes;
+    }
+}
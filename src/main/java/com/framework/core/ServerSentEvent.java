@@ -0,0 +1,92 @@
+package com.framework.core;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Événement d'un flux text/event-stream : data (String telle quelle, sinon JSON), et
+ * facultativement un type (event), un identifiant (id, renvoyé par le navigateur dans
+ * Last-Event-ID à la reconnexion) et un délai de reconnexion (retry).
+ *
+ * Encodé une seule fois, même diffusé à des milliers d'abonnés.
+ */
+public final class ServerSentEvent {
+
+    private final String event;
+    private final String id;
+    private final Object data;
+    private final long retry;
+
+    private volatile byte[] encoded; // calcul déterministe : une course ne coûte qu'un encodage de plus
+
+    private ServerSentEvent(String event, String id, Object data, long retry) {
+        this.event = singleLine("event", event);
+        this.id = singleLine("id", id);
+        this.data = data;
+        this.retry = retry;
+    }
+
+    public static ServerSentEvent of(Object data) {
+        return new ServerSentEvent(null, null, data, -1);
+    }
+
+    public static ServerSentEvent of(String event, Object data) {
+        return new ServerSentEvent(event, null, data, -1);
+    }
+
+    public ServerSentEvent withId(String id) {
+        return new ServerSentEvent(event, id, data, retry);
+    }
+
+    /** Délai de reconnexion demandé au client, en millisecondes */
+    public ServerSentEvent withRetry(long millis) {
+        return new ServerSentEvent(event, id, data, millis);
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Object getData() {
+        return data;
+    }
+
+    /** Élément d'un Flow.Publisher : événement, ou simple donnée */
+    static byte[] encode(Object item) {
+        return (item instanceof ServerSentEvent e ? e : of(item)).bytes();
+    }
+
+    byte[] bytes() {
+        byte[] bytes = encoded;
+        if (bytes == null) encoded = bytes = format().getBytes(StandardCharsets.UTF_8);
+        return bytes;
+    }
+
+    /** id, event, retry puis une ligne data: par ligne de la donnée ; ligne vide finale */
+    private String format() {
+        StringBuilder sb = new StringBuilder(64);
+        if (id != null) sb.append("id: ").append(id).append('\n');
+        if (event != null) sb.append("event: ").append(event).append('\n');
+        if (retry >= 0) sb.append("retry: ").append(retry).append('\n');
+
+        if (data != null) {
+            String text = data instanceof CharSequence s ? s.toString() : JsonCodec.gson().toJson(data);
+            for (String line : text.split("\r\n|\r|\n", -1)) sb.append("data: ").append(line).append('\n');
+        }
+        return sb.append('\n').toString();
+    }
+
+    private static String singleLine(String field, String value) {
+        if (value != null && (value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0))
+            throw new IllegalArgumentException("Champ SSE " + field + " sur plusieurs lignes : " + value);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return "ServerSentEvent[event=" + event + ", id=" + id + ", data=" + data + "]";
+    }
+}
@@ -0,0 +1,38 @@
+package com.framework.core;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stockage des attributs de session sous {@link FrameworkSession}.
+ *
+ * Choisi par l'init-param session.store : "container" (HttpSession, défaut), "mapped"
+ * (fichiers mappés en mémoire, hors du tas) ou le nom d'une classe implémentant cette interface
+ * (constructeur sans argument). Hors mode conteneur, l'identifiant de session est porté par
+ * le cookie session.cookie ("FSESSIONID" par défaut) et généré par le framework.
+ *
+ * Les implémentations sont partagées par toutes les requêtes : elles doivent être thread-safe.
+ */
+public interface SessionStore {
+
+    /** Vrai si la session existe et n'a pas expiré */
+    boolean exists(String id);
+
+    /** Valeur d'un attribut, ou null ; seul l'attribut demandé est lu */
+    Object get(String id, String name);
+
+    /**
+     * Fin de requête : attributs modifiés et supprimés, en une seule écriture.
+     * Crée la session si elle n'existe pas et repousse son expiration.
+     */
+    void save(String id, Map<String, Object> changed, Set<String> removed);
+
+    void invalidate(String id);
+
+    /** Session lue sans modification : repousse son expiration */
+    default void touch(String id) {
+    }
+
+    default void close() {
+    }
+}
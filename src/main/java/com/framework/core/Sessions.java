@@ -0,0 +1,81 @@
+package com.framework.core;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+/**
+ * Ouverture des {@link FrameworkSession} d'une requête selon le store configuré.
+ * store null : HttpSession du conteneur ; sinon identifiant dans un cookie géré par le framework.
+ */
+final class Sessions {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final SessionStore store;
+    private final String cookieName;
+
+    Sessions(SessionStore store, String cookieName) {
+        this.store = store;
+        this.cookieName = cookieName;
+    }
+
+    /** Session du conteneur (comportement historique) */
+    static Sessions container() {
+        return new Sessions(null, null);
+    }
+
+    FrameworkSession open(HttpServletRequest req, HttpServletResponse res) {
+        if (store == null) return new FrameworkSession(new ContainerSessionStore(req), "", () -> "");
+
+        String id = cookieValue(req);
+        if (id != null && !store.exists(id)) id = null; // expirée ou inconnue : nouvelle session à la première écriture
+
+        // GET parallèles d'un lot : une seule session créée pour tout le groupe
+        return new FrameworkSession(store, id, () -> Batch.sessionId(req, () -> {
+            String newId = newId();
+            Cookie cookie = new Cookie(cookieName, newId);
+            cookie.setHttpOnly(true);
+            cookie.setSecure(req.isSecure());
+            cookie.setPath(req.getContextPath().isEmpty() ? "/" : req.getContextPath());
+            if (res != null) res.addCookie(cookie);
+            return newId;
+        }));
+    }
+
+    /**
+     * Attribut de la session de la requête (store configuré ou HttpSession), ou null ;
+     * ne crée pas de session et ne repousse pas son expiration.
+     */
+    Object attribute(HttpServletRequest req, String name) {
+        if (store == null) {
+            HttpSession session = req.getSession(false);
+            return session != null ? session.getAttribute(name) : null;
+        }
+        String id = cookieValue(req);
+        return id != null && store.exists(id) ? store.get(id, name) : null;
+    }
+
+    void close() {
+        if (store != null) store.close();
+    }
+
+    private String cookieValue(HttpServletRequest req) {
+        Cookie[] cookies = req.getCookies();
+        if (cookies == null) return null;
+        for (Cookie cookie : cookies)
+            if (cookieName.equals(cookie.getName())) return cookie.getValue();
+        return null;
+    }
+
+    private static String newId() {
+        byte[] bytes = new byte[24];
+        RANDOM.nextBytes(bytes);
+        return ENCODER.encodeToString(bytes);
+    }
+}
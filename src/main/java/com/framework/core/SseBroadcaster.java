@@ -0,0 +1,147 @@
+package com.framework.core;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Diffusion d'événements à tous les abonnés : une route retourne le broadcaster (c'est un
+ * Flow.Publisher, servi en text/event-stream), le code applicatif appelle send(...).
+ *
+ * Aucun thread par abonné : send dépose l'événement, encodé une seule fois, dans la file bornée
+ * de chaque abonnement, et le remet tant que l'abonné en demande. Un abonné dont la file
+ * déborde (client trop lent) reçoit onError et sa connexion est fermée ; EventSource se
+ * reconnecte de lui-même.
+ */
+public final class SseBroadcaster implements Flow.Publisher<ServerSentEvent> {
+
+    private final int capacity;
+    private final Set<Broadcast> subscriptions = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed;
+
+    public SseBroadcaster() {
+        this(256);
+    }
+
+    /** @param capacity événements en attente par abonné avant de le déconnecter */
+    public SseBroadcaster(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity < 1");
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ServerSentEvent> subscriber) {
+        Broadcast subscription = new Broadcast(Objects.requireNonNull(subscriber));
+        subscriptions.add(subscription);
+        subscriber.onSubscribe(subscription);
+        if (closed) subscription.complete(); // fermé pendant l'abonnement
+    }
+
+    /** Diffuse une donnée (ou un ServerSentEvent) ; retourne le nombre d'abonnés atteints */
+    public int send(Object data) {
+        ServerSentEvent event = data instanceof ServerSentEvent e ? e : ServerSentEvent.of(data);
+        event.bytes(); // encodé ici, une fois, plutôt que par le premier abonné
+        int reached = 0;
+        for (Broadcast subscription : subscriptions)
+            if (subscription.offer(event)) reached++;
+        return reached;
+    }
+
+    public int send(String event, Object data) {
+        return send(ServerSentEvent.of(event, data));
+    }
+
+    public int subscribers() {
+        return subscriptions.size();
+    }
+
+    /** Termine tous les flux (onComplete après les événements en attente) */
+    public void close() {
+        closed = true;
+        for (Broadcast subscription : subscriptions) subscription.complete();
+    }
+
+    /**
+     * Abonnement : file bornée et demande ; les signaux vers l'abonné sont émis par un seul
+     * thread à la fois (compteur wip), quel que soit le thread qui appelle send ou request.
+     */
+    private final class Broadcast implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super ServerSentEvent> subscriber;
+        private final BlockingQueue<ServerSentEvent> queue = new ArrayBlockingQueue<>(capacity);
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile boolean completed;
+        private volatile Throwable error;
+
+        Broadcast(Flow.Subscriber<? super ServerSentEvent> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        boolean offer(ServerSentEvent event) {
+            if (cancelled) return false;
+            if (!queue.offer(event)) {
+                error = new IllegalStateException("Abonné trop lent : " + capacity + " événements en attente");
+                drain();
+                return false;
+            }
+            drain();
+            return true;
+        }
+
+        void complete() {
+            completed = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("request(" + n + ") : la demande doit être positive");
+            } else {
+                demand.getAndUpdate(d -> d + n < 0 ? Long.MAX_VALUE : d + n);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+            queue.clear();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            do {
+                while (!cancelled) {
+                    Throwable failure = error;
+                    if (failure != null) {
+                        cancel();
+                        subscriber.onError(failure);
+                        break;
+                    }
+                    if (queue.isEmpty()) {
+                        if (completed) {
+                            cancel();
+                            subscriber.onComplete();
+                        }
+                        break;
+                    }
+                    if (demand.get() == 0) break;
+
+                    ServerSentEvent event = queue.poll(); // seul consommateur : jamais null ici
+                    if (demand.get() != Long.MAX_VALUE) demand.decrementAndGet();
+                    subscriber.onNext(event);
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
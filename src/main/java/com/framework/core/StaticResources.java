@@ -0,0 +1,240 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Ressources statiques de l'application, avec cache des recherches (trouvées ou non).
+ *
+ * Le cache vit avec l'instance du servlet : un redéploiement repart d'un cache vide.
+ * Une entrée (trouvée ou non) est revérifiée au plus tard static.revalidate ms après sa
+ * lecture : un fichier remplacé à chaud change d'ETag / Last-Modified à la vérification suivante.
+ * Les fichiers sont servis avec ETag / Last-Modified (réponse 304 si inchangés),
+ * et un frère précompressé (.br, .gz) est préféré quand le client l'accepte.
+ */
+final class StaticResources {
+
+    // Borne du cache négatif : des URL arbitraires ne doivent pas le faire grossir sans fin
+    private static final int MAX_MISSES = 10_000;
+
+    private final ServletContext context;
+    private final RequestDispatcher defaultDispatcher;
+    private final long revalidateNanos;
+
+    private final Map<String, Resource> found = new ConcurrentHashMap<>();
+    private final Map<String, Long> missing = new ConcurrentHashMap<>(); // chemin → date de vérification
+
+    /** Une ressource existante ; file == null pour un dossier ou une ressource non fichier */
+    record Resource(String path, FileInfo file, FileInfo brotli, FileInfo gzip, long checked) {}
+
+    record FileInfo(URL url, long length, long lastModified, String etag) {}
+
+    StaticResources(ServletContext context, RequestDispatcher defaultDispatcher, long revalidateMillis) {
+        this.context = context;
+        this.defaultDispatcher = defaultDispatcher;
+        this.revalidateNanos = TimeUnit.MILLISECONDS.toNanos(revalidateMillis);
+    }
+
+    /** Ressource du chemin, ou null ; le système de fichiers n'est consulté qu'une fois par période */
+    Resource lookup(String path) throws IOException {
+        long now = System.nanoTime();
+        Resource resource = found.get(path);
+        if (resource != null && now - resource.checked() < revalidateNanos) return resource;
+        Long missed = missing.get(path);
+        if (missed != null && now - missed < revalidateNanos) return null;
+
+        URL url = context.getResource(path);
+        if (url == null) {
+            found.remove(path);
+            if (missing.size() >= MAX_MISSES) missing.clear();
+            missing.put(path, now);
+            return null;
+        }
+
+        FileInfo file = describe(url);
+        resource = new Resource(path,
+                file,
+                file != null ? sibling(path + ".br") : null,
+                file != null ? sibling(path + ".gz") : null,
+                now);
+        missing.remove(path);
+        found.put(path, resource);
+        return resource;
+    }
+
+    void serve(Resource resource, HttpServletRequest req, HttpServletResponse res)
+            throws ServletException, IOException {
+
+        String method = req.getMethod();
+        boolean readOnly = "GET".equals(method) || "HEAD".equals(method);
+
+        // Dossier, ou méthode autre que GET/HEAD : le servlet par défaut s'en charge
+        if (resource.file() == null || !readOnly) {
+            defaultDispatcher.forward(req, res);
+            return;
+        }
+
+        // Variante précompressée si le client l'accepte
+        String acceptEncoding = req.getHeader("Accept-Encoding");
+        FileInfo variant = null;
+        String encoding = null;
+        if (resource.brotli() != null && accepts(acceptEncoding, "br")) {
+            variant = resource.brotli();
+            encoding = "br";
+        } else if (resource.gzip() != null && accepts(acceptEncoding, "gzip")) {
+            variant = resource.gzip();
+            encoding = "gzip";
+        }
+
+        FileInfo served = variant != null ? variant : resource.file();
+        String etag = variant != null ? resource.file().etag().replaceFirst("\"$", "-" + encoding + "\"") : served.etag();
+
+        if (resource.brotli() != null || resource.gzip() != null) res.setHeader("Vary", "Accept-Encoding");
+        res.setHeader("ETag", etag);
+        res.setDateHeader("Last-Modified", resource.file().lastModified());
+
+        if (notModified(req, etag, resource.file().lastModified())) {
+            res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        if (variant == null) {
+            defaultDispatcher.forward(req, res);
+            return;
+        }
+
+        String mime = context.getMimeType(resource.path());
+        res.setContentType(mime != null ? mime : "application/octet-stream");
+        res.setHeader("Content-Encoding", encoding);
+
+        // Fichier : taille lue sur le fichier ouvert, jamais celle du cache (remplacement entre-temps)
+        Path path = path(variant.url());
+        if (path == null) {
+            res.setContentLengthLong(variant.length());
+            if ("HEAD".equals(method)) return;
+            try (InputStream in = variant.url().openStream()) {
+                in.transferTo(res.getOutputStream());
+            }
+            return;
+        }
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(path);
+        } catch (NoSuchFileException e) {
+            found.remove(resource.path()); // variante supprimée : recherche refaite à la prochaine requête
+            res.reset();
+            defaultDispatcher.forward(req, res);
+            return;
+        }
+        try (channel) {
+            res.setContentLengthLong(channel.size());
+            if ("HEAD".equals(method)) return;
+            OutputStream out = res.getOutputStream();
+            Channels.newInputStream(channel).transferTo(out);
+        }
+    }
+
+    /* ---------------- OUTILS ---------------- */
+
+    private FileInfo sibling(String path) throws IOException {
+        URL url = context.getResource(path);
+        return url != null ? describe(url) : null;
+    }
+
+    /** Taille / date d'un fichier ; null si ce n'est pas un fichier (dossier...) */
+    private static FileInfo describe(URL url) throws IOException {
+        long length;
+        long lastModified;
+
+        Path file = path(url);
+        if (file != null) {
+            if (!Files.isRegularFile(file)) return null;
+            length = Files.size(file);
+            lastModified = Files.getLastModifiedTime(file).toMillis();
+        } else {
+            URLConnection connection = url.openConnection();
+            connection.setUseCaches(false);
+            length = connection.getContentLengthLong();
+            lastModified = connection.getLastModified();
+            try {
+                connection.getInputStream().close();
+            } catch (IOException e) {
+                return null; // dossier dans un JAR
+            }
+            if (length < 0 || url.getPath().endsWith("/")) return null;
+        }
+
+        // Même forme que l'ETag du servlet par défaut de Tomcat
+        String etag = "W/\"" + length + "-" + lastModified + "\"";
+        return new FileInfo(url, length, lastModified, etag);
+    }
+
+    /** Chemin d'une URL file:, sinon null (ressource dans un JAR...) */
+    private static Path path(URL url) {
+        if (!"file".equals(url.getProtocol())) return null;
+        try {
+            return Paths.get(url.toURI());
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private static boolean notModified(HttpServletRequest req, String etag, long lastModified) {
+        String ifNoneMatch = req.getHeader("If-None-Match");
+        if (ifNoneMatch != null) {
+            for (String candidate : ifNoneMatch.split(",")) {
+                String c = candidate.trim();
+                if (c.equals("*") || c.equals(etag)) return true;
+            }
+            return false;
+        }
+
+        long ifModifiedSince;
+        try {
+            ifModifiedSince = req.getDateHeader("If-Modified-Since");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        // Les dates HTTP sont à la seconde près
+        return ifModifiedSince >= 0 && lastModified / 1000 <= ifModifiedSince / 1000;
+    }
+
+    /** Accept-Encoding contient l'encodage avec une qualité non nulle */
+    static boolean accepts(String acceptEncoding, String encoding) {
+        if (acceptEncoding == null) return false;
+        for (String token : acceptEncoding.split(",")) {
+            String[] parts = token.trim().split(";");
+            if (!parts[0].trim().equalsIgnoreCase(encoding)) continue;
+            for (int i = 1; i < parts.length; i++) {
+                String p = parts[i].trim();
+                if (p.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(p.substring(2)) > 0;
+                    } catch (NumberFormatException e) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
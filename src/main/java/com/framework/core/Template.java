@@ -0,0 +1,404 @@
+package com.framework.core;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Gabarit compilé : arbre de rendu construit une fois, texte statique déjà encodé en UTF-8
+ * (recopié tel quel dans la réponse, sans passer par un Writer).
+ *
+ * Syntaxe, à la Mustache :
+ * <pre>
+ *   {{nom}}, {{a.b.c}}    valeur échappée pour HTML          {{{nom}}}, {{&amp;nom}}  valeur brute
+ *   {{#nom}}...{{/nom}}   section : une fois par élément d'une liste / d'un tableau, une fois si
+ *                         la valeur est vraie ou un objet (qui devient le contexte), jamais si
+ *                         elle est null, false, vide
+ *   {{^nom}}...{{/nom}}   section inverse                     {{.}}  élément courant
+ *   {{&gt; autre.tpl}}       inclusion d'un gabarit de /views     {{! commentaire }}
+ * </pre>
+ * Un nom se cherche dans le contexte courant, puis dans les contextes englobants :
+ * clé de Map, getter (getNom / isNom), accesseur de record (nom()) ou champ public.
+ * Une balise de section, de commentaire ou d'inclusion seule sur sa ligne ne laisse pas de ligne vide.
+ */
+final class Template {
+
+    /** Valeur absente d'un contexte (différente d'une valeur null présente) */
+    private static final Object MISSING = new Object();
+
+    private static final ClassValue<Map<String, Function<Object, Object>>> ACCESSORS = new ClassValue<>() {
+        @Override
+        protected Map<String, Function<Object, Object>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final String name;
+    private final Node[] nodes;
+
+    private Template(String name, Node[] nodes) {
+        this.name = name;
+        this.nodes = nodes;
+    }
+
+    String name() {
+        return name;
+    }
+
+    /** Rend le gabarit avec data comme contexte racine ; out n'est pas fermé */
+    void render(Map<String, ?> data, OutputStream out) throws IOException {
+        Output output = new Output(out);
+        render(output, new Scope(data, null));
+        output.flush(); // sans flush du flux : le conteneur peut encore poser Content-Length
+    }
+
+    private void render(Output out, Scope scope) throws IOException {
+        for (Node node : nodes) node.render(out, scope);
+    }
+
+    /* ---------------- ARBRE DE RENDU ---------------- */
+
+    private interface Node {
+        void render(Output out, Scope scope) throws IOException;
+    }
+
+    private record Scope(Object value, Scope parent) {}
+
+    private record Text(byte[] bytes) implements Node {
+        @Override
+        public void render(Output out, Scope scope) throws IOException {
+            out.write(bytes);
+        }
+    }
+
+    private record Variable(String[] path, boolean escape) implements Node {
+        @Override
+        public void render(Output out, Scope scope) throws IOException {
+            Object value = lookup(scope, path);
+            if (value != null) out.text(String.valueOf(value), escape);
+        }
+    }
+
+    private record Section(String[] path, Node[] children, boolean inverted) implements Node {
+        @Override
+        public void render(Output out, Scope scope) throws IOException {
+            Object value = lookup(scope, path);
+
+            if (inverted) {
+                if (isFalsy(value)) renderAll(out, scope);
+                return;
+            }
+            if (isFalsy(value)) return;
+
+            if (value instanceof Boolean) {
+                renderAll(out, scope);
+            } else if (value instanceof Iterable<?> items) {
+                for (Object item : items) renderAll(out, new Scope(item, scope));
+            } else if (value instanceof Object[] items) {
+                for (Object item : items) renderAll(out, new Scope(item, scope));
+            } else if (value.getClass().isArray()) { // tableau de primitifs
+                for (int i = 0, n = Array.getLength(value); i < n; i++) renderAll(out, new Scope(Array.get(value, i), scope));
+            } else {
+                renderAll(out, new Scope(value, scope));
+            }
+        }
+
+        private void renderAll(Output out, Scope scope) throws IOException {
+            for (Node child : children) child.render(out, scope);
+        }
+    }
+
+    /** Résolu au rendu (pas à la compilation) : un gabarit peut s'inclure lui-même */
+    private record Partial(String view, Function<String, Template> partials) implements Node {
+        @Override
+        public void render(Output out, Scope scope) throws IOException {
+            Template template = partials.apply(view);
+            if (template == null) throw new IllegalStateException("Gabarit inclus introuvable : " + view);
+            template.render(out, scope);
+        }
+    }
+
+    /* ---------------- VALEURS ---------------- */
+
+    private static Object lookup(Scope scope, String[] path) {
+        if (path.length == 0) return scope.value(); // {{.}}
+
+        Object value = MISSING;
+        for (Scope s = scope; s != null && value == MISSING; s = s.parent()) value = property(s.value(), path[0]);
+
+        for (int i = 1; i < path.length && value != MISSING && value != null; i++) value = property(value, path[i]);
+        return value == MISSING ? null : value;
+    }
+
+    private static Object property(Object target, String name) {
+        if (target == null) return MISSING;
+        if (target instanceof Map<?, ?> map) {
+            Object value = map.get(name);
+            return value != null || map.containsKey(name) ? value : MISSING;
+        }
+        Class<?> type = target.getClass();
+        Map<String, Function<Object, Object>> accessors = ACCESSORS.get(type);
+        Function<Object, Object> accessor = accessors.get(name);
+        if (accessor == null) accessor = accessors.computeIfAbsent(name, n -> accessor(type, n));
+        return accessor.apply(target);
+    }
+
+    /**
+     * getNom(), isNom(), nom() (records), puis champ public ; rien trouvé : MISSING.
+     * MethodHandle typé (Object)Object : moins coûteux que Method.invoke / Field.get à chaque rendu.
+     */
+    private static Function<Object, Object> accessor(Class<?> type, String name) {
+        String capitalized = Character.toUpperCase(name.charAt(0)) + name.substring(1);
+        try {
+            for (String candidate : new String[] {"get" + capitalized, "is" + capitalized, name}) {
+                try {
+                    Method found = type.getMethod(candidate);
+                    if (found.getReturnType() == void.class || Modifier.isStatic(found.getModifiers())) continue;
+                    return invoker(MethodHandles.lookup().unreflect(callable(type, found)), type, candidate + "()");
+                } catch (NoSuchMethodException ignored) {
+                    // candidat suivant
+                }
+            }
+            try {
+                Field field = type.getField(name);
+                field.trySetAccessible();
+                return invoker(MethodHandles.lookup().unreflectGetter(field), type, name);
+            } catch (NoSuchFieldException e) {
+                return target -> MISSING;
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Lecture de " + type.getName() + "." + name + " impossible", e);
+        }
+    }
+
+    private static Function<Object, Object> invoker(MethodHandle handle, Class<?> type, String member) {
+        MethodHandle getter = handle.asType(MethodType.methodType(Object.class, Object.class));
+        return target -> {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException("Lecture de " + type.getSimpleName() + "." + member, e);
+            }
+        };
+    }
+
+    /**
+     * Méthode invocable : rendue accessible (classe non publique de l'application), sinon
+     * la même méthode déclarée par un supertype public (List.size() d'une liste immuable du JDK).
+     */
+    private static Method callable(Class<?> type, Method method) {
+        if (method.trySetAccessible()) return method;
+        Deque<Class<?>> supertypes = new ArrayDeque<>(List.of(type.getInterfaces()));
+        if (type.getSuperclass() != null) supertypes.add(type.getSuperclass());
+        while (!supertypes.isEmpty()) {
+            Class<?> supertype = supertypes.poll();
+            if (Modifier.isPublic(supertype.getModifiers())) {
+                try {
+                    return supertype.getMethod(method.getName());
+                } catch (NoSuchMethodException ignored) {
+                    // pas déclarée ici
+                }
+            }
+            supertypes.addAll(List.of(supertype.getInterfaces()));
+            if (supertype.getSuperclass() != null) supertypes.add(supertype.getSuperclass());
+        }
+        return method;
+    }
+
+    private static boolean isFalsy(Object value) {
+        if (value == null || Boolean.FALSE.equals(value)) return true;
+        if (value instanceof Collection<?> c) return c.isEmpty();
+        if (value instanceof CharSequence s) return s.length() == 0;
+        if (value.getClass().isArray()) return Array.getLength(value) == 0;
+        return false;
+    }
+
+    /* ---------------- COMPILATION ---------------- */
+
+    /**
+     * Compile le source ; partials donne les gabarits inclus (au rendu).
+     * Erreur de syntaxe : IllegalStateException avec le nom du gabarit et la ligne.
+     */
+    static Template compile(String name, String source, Function<String, Template> partials) {
+        record Open(String tag, String[] path, boolean inverted, List<Node> parent, int position) {}
+
+        Deque<Open> open = new ArrayDeque<>();
+        List<Node> nodes = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        int i = 0;
+
+        while (true) {
+            int start = source.indexOf("{{", i);
+            if (start < 0) {
+                text.append(source, i, source.length());
+                break;
+            }
+
+            boolean triple = source.startsWith("{{{", start);
+            int contentStart = start + (triple ? 3 : 2);
+            int close = source.indexOf(triple ? "}}}" : "}}", contentStart);
+            if (close < 0) throw error(name, source, start, "balise non fermée");
+            int end = close + (triple ? 3 : 2);
+
+            String tag = source.substring(contentStart, close).trim();
+            char kind = !triple && !tag.isEmpty() && "#^/!>&".indexOf(tag.charAt(0)) >= 0 ? tag.charAt(0) : '{';
+            boolean block = kind == '#' || kind == '^' || kind == '/' || kind == '!' || kind == '>';
+
+            // Balise de bloc seule sur sa ligne : la ligne entière disparaît
+            int lineStart = source.lastIndexOf('\n', start - 1) + 1;
+            int lineEnd = source.indexOf('\n', end);
+            if (lineEnd < 0) lineEnd = source.length();
+            if (block && lineStart >= i && source.substring(lineStart, start).isBlank()
+                    && source.substring(end, lineEnd).isBlank()) {
+                text.append(source, i, lineStart);
+                i = Math.min(lineEnd + 1, source.length());
+            } else {
+                text.append(source, i, start);
+                i = end;
+            }
+
+            String argument = kind == '{' ? tag : tag.substring(1).trim(); // '{' : variable
+            switch (kind) {
+                case '!' -> {}
+                case '#', '^' -> {
+                    flushText(text, nodes);
+                    open.push(new Open(argument, path(argument), kind == '^', nodes, start));
+                    nodes = new ArrayList<>();
+                }
+                case '/' -> {
+                    Open section = open.poll();
+                    if (section == null || !section.tag().equals(argument))
+                        throw error(name, source, start, "{{/" + argument + "}} sans {{#" + argument + "}} correspondant");
+                    flushText(text, nodes);
+                    Node node = new Section(section.path(), nodes.toArray(Node[]::new), section.inverted());
+                    nodes = section.parent();
+                    nodes.add(node);
+                }
+                case '>' -> {
+                    flushText(text, nodes);
+                    nodes.add(new Partial(argument, partials));
+                }
+                case '&' -> {
+                    flushText(text, nodes);
+                    nodes.add(new Variable(path(argument), false));
+                }
+                default -> {
+                    if (argument.isEmpty()) throw error(name, source, start, "balise vide");
+                    flushText(text, nodes);
+                    nodes.add(new Variable(path(argument), !triple));
+                }
+            }
+        }
+
+        if (!open.isEmpty())
+            throw error(name, source, open.peek().position(), "section {{#" + open.peek().tag() + "}} non fermée");
+        flushText(text, nodes);
+        return new Template(name, nodes.toArray(Node[]::new));
+    }
+
+    private static void flushText(StringBuilder text, List<Node> nodes) {
+        if (text.length() == 0) return;
+        nodes.add(new Text(text.toString().getBytes(StandardCharsets.UTF_8)));
+        text.setLength(0);
+    }
+
+    /** "a.b.c" → [a, b, c] ; "." → [] */
+    private static String[] path(String tag) {
+        return tag.equals(".") ? new String[0] : tag.split("\\.");
+    }
+
+    private static IllegalStateException error(String name, String source, int position, String message) {
+        int line = 1;
+        for (int i = 0; i < position; i++) if (source.charAt(i) == '\n') line++;
+        return new IllegalStateException("Gabarit " + name + ", ligne " + line + " : " + message);
+    }
+
+    /* ---------------- SORTIE ---------------- */
+
+    /** Tampon d'octets devant le flux de la réponse ; encode et échappe les valeurs en UTF-8 */
+    private static final class Output {
+
+        private final OutputStream out;
+        private final byte[] buffer = new byte[8192];
+        private int count;
+
+        Output(OutputStream out) {
+            this.out = out;
+        }
+
+        void write(byte[] bytes) throws IOException {
+            if (bytes.length > buffer.length - count) {
+                flush();
+                if (bytes.length > buffer.length) {
+                    out.write(bytes);
+                    return;
+                }
+            }
+            System.arraycopy(bytes, 0, buffer, count, bytes.length);
+            count += bytes.length;
+        }
+
+        void text(String s, boolean escape) throws IOException {
+            for (int i = 0, n = s.length(); i < n; i++) {
+                if (count > buffer.length - 6) flush(); // entité la plus longue : &quot;
+
+                char c = s.charAt(i);
+                if (c < 0x80) {
+                    if (escape) {
+                        switch (c) {
+                            case '&' -> ascii("&amp;");
+                            case '<' -> ascii("&lt;");
+                            case '>' -> ascii("&gt;");
+                            case '"' -> ascii("&quot;");
+                            case '\'' -> ascii("&#39;");
+                            default -> buffer[count++] = (byte) c;
+                        }
+                    } else {
+                        buffer[count++] = (byte) c;
+                    }
+                } else if (c < 0x800) {
+                    buffer[count++] = (byte) (0xc0 | c >> 6);
+                    buffer[count++] = (byte) (0x80 | c & 0x3f);
+                } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    int cp = Character.toCodePoint(c, s.charAt(++i));
+                    buffer[count++] = (byte) (0xf0 | cp >> 18);
+                    buffer[count++] = (byte) (0x80 | cp >> 12 & 0x3f);
+                    buffer[count++] = (byte) (0x80 | cp >> 6 & 0x3f);
+                    buffer[count++] = (byte) (0x80 | cp & 0x3f);
+                } else if (Character.isSurrogate(c)) {
+                    buffer[count++] = '?'; // surrogate isolé, comme l'encodeur du JDK
+                } else {
+                    buffer[count++] = (byte) (0xe0 | c >> 12);
+                    buffer[count++] = (byte) (0x80 | c >> 6 & 0x3f);
+                    buffer[count++] = (byte) (0x80 | c & 0x3f);
+                }
+            }
+        }
+
+        private void ascii(String entity) {
+            for (int i = 0; i < entity.length(); i++) buffer[count++] = (byte) entity.charAt(i);
+        }
+
+        void flush() throws IOException {
+            if (count > 0) out.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.framework.core;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+import jakarta.servlet.ServletContext;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Gabarits intégrés, alternative au forward JSP : une vue ModelView dont le nom finit par
+ * templates.suffix (".tpl" par défaut) est lue sous /views, compilée une fois en {@link Template},
+ * puis rendue directement dans la réponse, sans RequestDispatcher ni attributs de requête.
+ *
+ * templates.precompile=true compile tous les gabarits au démarrage : une erreur de syntaxe
+ * empêche alors le servlet de démarrer, et le premier rendu ne paie plus la compilation.
+ */
+final class TemplateEngine {
+
+    private static final String VIEWS = "/views/";
+
+    private final ServletContext context;
+    private final String suffix;
+    private final ConcurrentHashMap<String, Template> templates = new ConcurrentHashMap<>();
+
+    TemplateEngine(ServletContext context, BiFunction<String, String, String> config) {
+        this.context = context;
+        this.suffix = config.apply("templates.suffix", ".tpl");
+    }
+
+    /** Vue servie par le moteur (sinon : forward JSP) */
+    boolean handles(String view) {
+        return view.endsWith(suffix);
+    }
+
+    /** Compile tous les gabarits de /views (sous-dossiers compris) ; retourne leur nombre */
+    int precompile() {
+        return precompile(VIEWS);
+    }
+
+    private int precompile(String directory) {
+        Set<String> paths = context.getResourcePaths(directory);
+        if (paths == null) return 0;
+        int count = 0;
+        for (String path : paths) {
+            if (path.endsWith("/")) count += precompile(path);
+            else if (handles(path) && get(path.substring(VIEWS.length())) != null) count++;
+        }
+        return count;
+    }
+
+    /** Gabarit compilé (une seule fois), ou null si la vue n'existe pas */
+    Template get(String view) {
+        Template template = templates.get(view);
+        return template != null ? template : templates.computeIfAbsent(view, this::load);
+    }
+
+    /** Rend la vue dans la réponse ; 404 si elle n'existe pas */
+    void render(ModelView mv, HttpServletResponse res) throws IOException {
+        Template template = get(mv.getView());
+        if (template == null) {
+            res.sendError(HttpServletResponse.SC_NOT_FOUND, "Vue introuvable : " + mv.getView());
+            return;
+        }
+        res.setCharacterEncoding("UTF-8"); // texte statique pré-encodé en UTF-8
+        template.render(mv.getData(), res.getOutputStream());
+    }
+
+    /** Rendu en octets (cache des réponses), null si la vue n'existe pas */
+    byte[] renderToBytes(ModelView mv) throws IOException {
+        Template template = get(mv.getView());
+        if (template == null) return null;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        template.render(mv.getData(), out);
+        return out.toByteArray();
+    }
+
+    private Template load(String view) {
+        try (InputStream in = context.getResourceAsStream(VIEWS + view)) {
+            if (in == null) return null;
+            return Template.compile(view, new String(in.readAllBytes(), StandardCharsets.UTF_8), this::get);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Lecture du gabarit " + view, e);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.framework.core;
+
+import java.util.*;
+
+/**
+ * Routeur par segments (trie) : l'URL est parcourue une seule fois, sans regex ni split.
+ *
+ * Priorité à chaque niveau :
+ *   1. segment statique      ("/user/list")
+ *   2. variable              ("/user/{id}")
+ *   3. segment final en trop ("/user" accepte "/user/45", cas sprint3-bis, mappings statiques uniquement)
+ *
+ * Le coût d'une recherche dépend de la profondeur de l'URL, pas du nombre de routes.
+ */
+public final class UrlRouter {
+
+    private final Node root = new Node();
+
+    /** Ajoute une route (construction uniquement, au démarrage) */
+    void add(Route route) {
+        Node node = root;
+        for (String segment : route.getSegments()) {
+            if (Route.isVariable(segment)) {
+                if (node.param == null) node.param = new Node();
+                node = node.param;
+            } else {
+                node = node.staticChildOrCreate(segment);
+            }
+        }
+
+        if (route.getVerb().equals(Route.ANY)) node.anyRoute = route;
+        else node.verbRoutes.put(route.getVerb(), route);
+    }
+
+    /** Résout (verbe, url) → route + variables capturées, ou null */
+    public RouteMatch match(String verb, String url) {
+        url = normalize(url);
+        Route route = find(root, verb.toUpperCase(), url, 0);
+        if (route == null) return null;
+        return new RouteMatch(route, extractVariables(route, url));
+    }
+
+    private static String normalize(String url) {
+        if (url.endsWith("/")) return url.substring(0, url.length() - 1);
+        return url;
+    }
+
+    /** Descente récursive avec retour arrière : statique, puis variable, puis segment final en trop */
+    private static Route find(Node node, String verb, String url, int start) {
+        int length = url.length();
+
+        // Plus de segment à consommer
+        if (start > length) return node.handler(verb);
+
+        int end = url.indexOf('/', start);
+        if (end < 0) end = length;
+
+        Node child = node.staticChild(url, start, end);
+        if (child != null) {
+            Route r = find(child, verb, url, end + 1);
+            if (r != null) return r;
+        }
+
+        if (node.param != null) {
+            Route r = find(node.param, verb, url, end + 1);
+            if (r != null) return r;
+        }
+
+        // sprint3-bis : "/user" doit matcher "/user/45"
+        if (end == length) {
+            Route r = node.handler(verb);
+            if (r != null && !r.isDynamic()) return r;
+        }
+
+        return null;
+    }
+
+    /** Relit l'URL segment par segment et ne copie que les segments variables */
+    private static Map<String, String> extractVariables(Route route, String url) {
+        String[] segments = route.getSegments();
+        if (!route.isDynamic()) return Collections.emptyMap();
+
+        Map<String, String> vars = new HashMap<>();
+        int start = 0;
+        for (int i = 0; i < segments.length && start <= url.length(); i++) {
+            int end = url.indexOf('/', start);
+            if (end < 0) end = url.length();
+
+            if (Route.isVariable(segments[i]))
+                vars.put(segments[i].substring(1, segments[i].length() - 1), url.substring(start, end));
+
+            start = end + 1;
+        }
+        return vars;
+    }
+
+    /* ---------------- NOEUD ---------------- */
+
+    private static final class Node {
+
+        // Table de hachage ouverte des enfants statiques : pas de substring pour chercher un segment
+        private String[] keys = new String[4];
+        private Node[] children = new Node[4];
+        private int size;
+
+        private Node param;
+        private Route anyRoute;              // @URL
+        private final Map<String, Route> verbRoutes = new HashMap<>(4); // @GetMapping / @PostMapping
+
+        Route handler(String verb) {
+            if (anyRoute != null) return anyRoute;
+            return verbRoutes.get(verb);
+        }
+
+        Node staticChild(String url, int start, int end) {
+            int len = end - start;
+            int h = 0;
+            for (int i = start; i < end; i++) h = 31 * h + url.charAt(i);
+
+            int mask = keys.length - 1;
+            for (int i = spread(h) & mask; keys[i] != null; i = (i + 1) & mask) {
+                String key = keys[i];
+                if (key.length() == len && key.regionMatches(0, url, start, len)) return children[i];
+            }
+            return null;
+        }
+
+        Node staticChildOrCreate(String segment) {
+            Node existing = staticChild(segment, 0, segment.length());
+            if (existing != null) return existing;
+
+            if ((size + 1) * 2 > keys.length) resize();
+            Node created = new Node();
+            insert(segment, created);
+            return created;
+        }
+
+        private void insert(String key, Node child) {
+            int mask = keys.length - 1;
+            int i = spread(key.hashCode()) & mask;
+            while (keys[i] != null) i = (i + 1) & mask;
+            keys[i] = key;
+            children[i] = child;
+            size++;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            Node[] oldChildren = children;
+            keys = new String[oldKeys.length * 2];
+            children = new Node[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++)
+                if (oldKeys[i] != null) insert(oldKeys[i], oldChildren[i]);
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+    }
+}
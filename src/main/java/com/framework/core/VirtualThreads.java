@@ -0,0 +1,21 @@
+package com.framework.core;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Accès aux threads virtuels sans dépendre du JDK 21 à la compilation (le framework cible 17).
+ */
+final class VirtualThreads {
+
+    private VirtualThreads() {}
+
+    /** Un thread virtuel par tâche, ou null si le JDK ne les supporte pas */
+    static ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null; // JDK 17 : exécution sur le thread du conteneur
+        }
+    }
+}